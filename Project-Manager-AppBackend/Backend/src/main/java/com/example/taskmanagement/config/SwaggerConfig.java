@@ -4,8 +4,11 @@ import io.swagger.v3.oas.models.OpenAPI;
 import io.swagger.v3.oas.models.info.Info;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
 
+// Development only: prod turns springdoc off and the fast-startup build leaves it out
 @Configuration
+@Profile("!prod")
 public class SwaggerConfig {
     @Bean
     public OpenAPI customOpenAPI() {
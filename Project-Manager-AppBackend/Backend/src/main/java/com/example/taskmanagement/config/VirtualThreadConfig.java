@@ -0,0 +1,40 @@
+package com.example.taskmanagement.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import java.time.Duration;
+
+/**
+ * Active only with {@code spring.threads.virtual.enabled=true} on Java 21, where Boot
+ * already moves Tomcat, {@code @Async} and {@code @Scheduled} onto virtual threads.
+ * Adds the database concurrency limit those threads no longer get from a pool.
+ */
+@Configuration
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadConfig {
+
+    private static final int DEFAULT_POOL_SIZE = 10;
+
+    @Bean
+    public static BeanPostProcessor databaseConcurrencyLimiter(Environment environment) {
+        Duration acquireTimeout = environment.getProperty(
+                "database.limiter.acquire-timeout", Duration.class, Duration.ofSeconds(5));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof HikariDataSource hikari) {
+                    // Unset until the pool starts, which then applies Hikari's default
+                    int poolSize = hikari.getMaximumPoolSize() > 0 ? hikari.getMaximumPoolSize() : DEFAULT_POOL_SIZE;
+                    return new ConcurrencyLimitedDataSource(hikari, poolSize, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+}
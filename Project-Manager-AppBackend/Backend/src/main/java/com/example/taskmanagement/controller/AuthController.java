@@ -3,10 +3,17 @@ package com.example.taskmanagement.controller;
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
 import com.example.taskmanagement.security.JwtTokenProvider;
+import com.example.taskmanagement.security.PasswordHashingRejectedException;
+import com.example.taskmanagement.security.RefreshTokenService;
+import com.example.taskmanagement.security.TokenRevocationList;
+import com.example.taskmanagement.security.UserPrincipal;
+import io.jsonwebtoken.Claims;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.Data;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
@@ -20,23 +27,34 @@ import org.springframework.web.bind.annotation.*;
 @RequiredArgsConstructor
 public class AuthController {
 
+    // Seconds; a full hashing queue drains in well under that
+    private static final String RETRY_AFTER_HASHING = "1";
+
     private final AuthenticationManager authenticationManager;
     private final UserRepository userRepository;
     private final PasswordEncoder passwordEncoder;
     private final JwtTokenProvider tokenProvider;
+    private final TokenRevocationList revocationList;
+    private final RefreshTokenService refreshTokenService;
 
     @PostMapping("/login")
     public ResponseEntity<?> authenticateUser(@Valid @RequestBody LoginRequest loginRequest) {
-        Authentication authentication = authenticationManager.authenticate(
-                new UsernamePasswordAuthenticationToken(
-                        loginRequest.getEmail(),
-                        loginRequest.getPassword()
-                )
-        );
+        Authentication authentication;
+        try {
+            authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getEmail(),
+                            loginRequest.getPassword()
+                    )
+            );
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable();
+        }
 
         SecurityContextHolder.getContext().setAuthentication(authentication);
         String jwt = tokenProvider.generateToken(authentication);
-        return ResponseEntity.ok(new JwtAuthenticationResponse(jwt));
+        String refreshToken = refreshTokenService.issue(UserPrincipal.idOf(authentication));
+        return ResponseEntity.ok(new JwtAuthenticationResponse(jwt, refreshToken, tokenProvider.getExpirationInMs()));
     }
 
     @PostMapping("/register")
@@ -48,30 +66,54 @@ public class AuthController {
         User user = new User();
         user.setName(signUpRequest.getName());
         user.setEmail(signUpRequest.getEmail());
-        user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
+        try {
+            user.setPassword(passwordEncoder.encode(signUpRequest.getPassword()));
+        } catch (PasswordHashingRejectedException e) {
+            return hashingUnavailable();
+        }
         
         userRepository.save(user);
         
         return ResponseEntity.ok("User registered successfully");
     }
 
+    /**
+     * Trades a refresh token for a new access token and a new refresh token; the one
+     * presented stops working. The user comes from the second-level cache.
+     */
     @PostMapping("/refresh-token")
-    public ResponseEntity<?> refreshToken(HttpServletRequest request) {
-        String token = tokenProvider.resolveToken(request);
-        if (token != null && tokenProvider.validateToken(token)) {
-            Authentication authentication = tokenProvider.getAuthentication(token);
-            String newToken = tokenProvider.generateToken(authentication);
-            return ResponseEntity.ok(new JwtAuthenticationResponse(newToken));
-        }
-        return ResponseEntity.badRequest().body("Invalid refresh token");
+    public ResponseEntity<?> refreshToken(@RequestBody RefreshTokenRequest request) {
+        return refreshTokenService.rotate(request.getRefreshToken())
+                .flatMap(rotation -> userRepository.findById(rotation.userId())
+                        .map(user -> new JwtAuthenticationResponse(
+                                tokenProvider.generateToken(user.getId(), user.getEmail()),
+                                rotation.refreshToken(),
+                                tokenProvider.getExpirationInMs())))
+                .<ResponseEntity<?>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.UNAUTHORIZED).body("Invalid refresh token"));
     }
 
+    /** Revokes the presented access token and, when the body names one, the refresh token's session. */
     @PostMapping("/logout")
-    public ResponseEntity<?> logout(HttpServletRequest request) {
-        // In a stateless application, logout is handled client-side by removing the token
+    public ResponseEntity<?> logout(HttpServletRequest request,
+                                    @RequestBody(required = false) RefreshTokenRequest body) {
+        String token = tokenProvider.resolveToken(request);
+        Claims claims = token != null ? tokenProvider.parseClaims(token) : null;
+        if (claims != null && claims.getExpiration() != null) {
+            revocationList.revoke(JwtTokenProvider.tokenId(claims), claims.getExpiration().toInstant());
+        }
+        if (body != null) {
+            refreshTokenService.revoke(body.getRefreshToken());
+        }
         return ResponseEntity.ok().body("Logged out successfully");
     }
 
+    private static ResponseEntity<?> hashingUnavailable() {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_HASHING)
+                .body("Too many sign-ins in progress, please retry");
+    }
+
     @Data
     public static class LoginRequest {
         private String email;
@@ -85,13 +127,23 @@ public class AuthController {
         private String password;
     }
 
+    @Data
+    public static class RefreshTokenRequest {
+        private String refreshToken;
+    }
+
     @Data
     public static class JwtAuthenticationResponse {
         private String accessToken;
         private String tokenType = "Bearer";
+        private String refreshToken;
+        // Seconds until the access token expires
+        private long expiresIn;
 
-        public JwtAuthenticationResponse(String accessToken) {
+        public JwtAuthenticationResponse(String accessToken, String refreshToken, long expirationInMs) {
             this.accessToken = accessToken;
+            this.refreshToken = refreshToken;
+            this.expiresIn = expirationInMs / 1000;
         }
     }
 }
@@ -0,0 +1,30 @@
+package com.example.taskmanagement.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+
+/**
+ * Service-layer rejections that are the client's fault: a malformed argument such as
+ * a bad cursor or an oversized batch is 400, and a project or task that doesn't exist
+ * or isn't the caller's is 404, so foreign ids look exactly like missing ones.
+ */
+@Slf4j
+@RestControllerAdvice
+public class ClientErrorExceptionHandler {
+
+    @ExceptionHandler(IllegalArgumentException.class)
+    public ResponseEntity<Void> handleBadRequest(IllegalArgumentException e) {
+        log.debug("Rejected request: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).build();
+    }
+
+    @ExceptionHandler(EntityNotFoundException.class)
+    public ResponseEntity<Void> handleNotFound(EntityNotFoundException e) {
+        log.debug("Not found: {}", e.getMessage());
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).build();
+    }
+}
@@ -0,0 +1,120 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.ProjectRepository;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.function.Supplier;
+
+/**
+ * Strong entity tags derived from version columns, so a response's tag is known
+ * before the response itself is loaded. Tags are per resource URL; query parameters
+ * are part of the URL and need not be encoded here.
+ */
+final class ETags {
+
+    /** Lets the browser keep a private copy but revalidate it on every use. */
+    static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
+    private ETags() {
+    }
+
+    /**
+     * 304 when {@code ifNoneMatch} matches, without calling {@code body}; otherwise
+     * 200 with the body. Both carry the tag.
+     */
+    static <T> ResponseEntity<T> respond(String etag, String ifNoneMatch, Supplier<T> body) {
+        if (matchesNoneMatch(ifNoneMatch, etag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(etag).cacheControl(REVALIDATE).build();
+        }
+        return ResponseEntity.ok().eTag(etag).cacheControl(REVALIDATE).body(body.get());
+    }
+
+    static String of(Task task) {
+        return quote("task-" + task.getId() + "-" + task.getVersion());
+    }
+
+    static String of(Project project) {
+        return quote("project-" + project.getId() + "-" + project.getVersion() + "-" + project.getUser().getVersion());
+    }
+
+    static String ofTasks(Project project) {
+        return quote("tasks-" + project.getId() + "-" + project.getTasksVersion());
+    }
+
+    static String ofProgress(Project project) {
+        return quote("progress-" + project.getId() + "-" + project.getVersion() + "-" + project.getTasksVersion());
+    }
+
+    static String ofProgress(Collection<ProjectRepository.ProjectVersions> projects) {
+        StringBuilder versions = new StringBuilder();
+        for (var project : projects.stream()
+                .sorted(Comparator.comparing(ProjectRepository.ProjectVersions::getId)).toList()) {
+            versions.append(project.getId()).append(':')
+                    .append(project.getVersion()).append(':')
+                    .append(project.getTasksVersion()).append(';');
+        }
+        return quote("progress-" + sha256(versions.toString()));
+    }
+
+    /** If-None-Match uses the weak comparison, so {@code W/} prefixes are ignored. */
+    static boolean matchesNoneMatch(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || stripWeak(tag).equals(etag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Version of {@code task} named by an If-Match header, {@code null} for a wildcard
+     * or missing header, or {@code -1} when the header names no version of this task,
+     * which can never match.
+     */
+    static Long expectedVersion(String ifMatch, Long taskId) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String prefix = "\"task-" + taskId + "-";
+        String tag = ifMatch.trim();
+        if (!tag.startsWith(prefix) || !tag.endsWith("\"") || tag.indexOf(',') >= 0) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.substring(prefix.length(), tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+
+    private static String stripWeak(String tag) {
+        return tag.startsWith("W/") ? tag.substring(2) : tag;
+    }
+
+    private static String quote(String value) {
+        return "\"" + value + "\"";
+    }
+
+    private static String sha256(String value) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(value.getBytes(StandardCharsets.UTF_8)), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
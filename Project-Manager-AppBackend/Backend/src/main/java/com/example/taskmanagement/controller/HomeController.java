@@ -1,9 +1,12 @@
 package com.example.taskmanagement.controller;
 
+import org.springframework.context.annotation.Profile;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.GetMapping;
 
+// Points at Swagger UI, which only exists outside prod
 @Controller
+@Profile("!prod")
 public class HomeController {
     
     @GetMapping("/")
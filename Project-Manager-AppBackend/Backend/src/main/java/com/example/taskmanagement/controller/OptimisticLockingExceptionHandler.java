@@ -0,0 +1,29 @@
+package com.example.taskmanagement.controller;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.springframework.web.context.request.WebRequest;
+
+/**
+ * A write that lost to a concurrent one, from any endpoint: a stale {@code If-Match}
+ * or a {@code @Version} check failing at flush. With {@code If-Match} the client's
+ * precondition failed and it gets 412; without, it gets 409 and may simply retry.
+ */
+@Slf4j
+@RestControllerAdvice
+public class OptimisticLockingExceptionHandler {
+
+    @ExceptionHandler(OptimisticLockingFailureException.class)
+    public ResponseEntity<Void> handleConflict(OptimisticLockingFailureException e, WebRequest request) {
+        log.debug("Concurrent modification: {}", e.getMessage());
+        HttpStatus status = request.getHeader(HttpHeaders.IF_MATCH) != null
+                ? HttpStatus.PRECONDITION_FAILED
+                : HttpStatus.CONFLICT;
+        return ResponseEntity.status(status).build();
+    }
+}
@@ -1,14 +1,22 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.ProjectProgressDTO;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.security.UserPrincipal;
 import com.example.taskmanagement.service.ProjectProgressService;
+import com.example.taskmanagement.service.ProjectService;
+import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Map;
 
 @RestController
@@ -18,19 +26,36 @@ import java.util.Map;
 public class ProgressController {
 
     private final ProjectProgressService projectProgressService;
+    private final ProjectService projectService;
 
+    // The tag and the body come from the same project row: at most 1 statement, none when cached
     @SuppressWarnings("null")
     @GetMapping("/{projectId}/progress")
     public ResponseEntity<Map<String, Object>> getProjectProgress(
             @PathVariable @NotNull Long projectId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @NonNull Authentication authentication) {
         if (projectId == null) {
             throw new IllegalArgumentException("Project ID must not be null");
         }
-        // authentication.getName() is guaranteed to be non-null by Spring Security
-        String username = authentication.getName();
-        Map<String, Object> progress = projectProgressService.calculateProjectProgress(
-                projectId, username);
-        return ResponseEntity.ok(progress);
+        Long userId = UserPrincipal.idOf(authentication);
+        Project project = projectService.getProject(projectId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+        return ETags.respond(ETags.ofProgress(project), ifNoneMatch, () -> ProjectProgressService.progressOf(project));
+    }
+
+    // Versions are read before the progress itself, so a write in between can only
+    // make the tag older than the body and never let a stale body pass as current
+    @GetMapping("/progress")
+    public ResponseEntity<List<ProjectProgressDTO>> getProjectsProgress(
+            @RequestParam(required = false) List<Long> ids,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            @NonNull Authentication authentication) {
+        Long userId = UserPrincipal.idOf(authentication);
+        List<ProjectRepository.ProjectVersions> versions = projectService.getUserProjectVersions(userId).stream()
+                .filter(project -> ids == null || ids.contains(project.getId()))
+                .toList();
+        return ETags.respond(ETags.ofProgress(versions), ifNoneMatch,
+                () -> projectProgressService.getProjectsProgress(userId, ids));
     }
 }
@@ -2,11 +2,19 @@ package com.example.taskmanagement.controller;
 
 import com.example.taskmanagement.dto.ProjectDTO;
 import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.security.UserPrincipal;
+import com.example.taskmanagement.service.DeletionService;
+import com.example.taskmanagement.service.ProjectEventBroadcaster;
 import com.example.taskmanagement.service.ProjectService;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -17,26 +25,59 @@ import java.util.stream.Collectors;
 public class ProjectController {
 
     private final ProjectService projectService;
+    private final ProjectEventBroadcaster projectEventBroadcaster;
+    private final DeletionService deletionService;
 
     @GetMapping
     public List<ProjectDTO> getUserProjects(Authentication authentication) {
-        return projectService.getUserProjects(authentication.getName())
+        return projectService.getUserProjects(UserPrincipal.idOf(authentication))
                 .stream()
                 .map(ProjectDTO::from)
                 .collect(Collectors.toList());
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<ProjectDTO> getProject(@PathVariable Long id, Authentication authentication) {
-        return projectService.getProject(id, authentication.getName())
-                .map(ProjectDTO::from)
-                .map(ResponseEntity::ok)
+    public ResponseEntity<ProjectDTO> getProject(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+            Authentication authentication) {
+        return projectService.getProjectWithOwner(id, UserPrincipal.idOf(authentication))
+                .map(project -> ETags.respond(ETags.of(project), ifNoneMatch, () -> ProjectDTO.from(project)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * Live task changes and progress of one project as server-sent events:
+     * {@code task-created}, {@code task-updated}, {@code task-completed},
+     * {@code task-deleted} and {@code progress}, plus periodic heartbeat comments.
+     */
+    @GetMapping(value = "/{id}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamProjectEvents(@PathVariable Long id, Authentication authentication) {
+        if (!projectService.isProjectOwnedByUser(id, UserPrincipal.idOf(authentication))) {
+            throw new EntityNotFoundException("Project not found");
+        }
+        return projectEventBroadcaster.subscribe(id);
+    }
+
     @PostMapping
     public ResponseEntity<ProjectDTO> createProject(@RequestBody Project project, Authentication authentication) {
-        Project createdProject = projectService.createProject(project, authentication.getName());
+        Project createdProject = projectService.createProject(project, UserPrincipal.idOf(authentication));
         return ResponseEntity.ok(ProjectDTO.from(createdProject));
     }
+
+    /**
+     * 204 once deleted with its tasks, or 202 when the project is large and being deleted in the
+     * background; 503 when too many deletions are waiting for that.
+     */
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteProject(@PathVariable Long id, Authentication authentication) {
+        return switch (deletionService.deleteProject(id, UserPrincipal.idOf(authentication))) {
+            case DELETED -> ResponseEntity.noContent().build();
+            case PURGING -> ResponseEntity.accepted().build();
+            case BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, DeletionService.RETRY_AFTER_PURGES)
+                    .build();
+            case NOT_FOUND -> ResponseEntity.notFound().build();
+        };
+    }
 }
@@ -0,0 +1,42 @@
+package com.example.taskmanagement.controller;
+
+import com.example.taskmanagement.dto.SearchResultDTO;
+import com.example.taskmanagement.search.SearchService;
+import com.example.taskmanagement.security.UserPrincipal;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/api/search")
+public class SearchController {
+
+    private static final int MAX_QUERY_LENGTH = 200;
+    // Seconds; a full rebuild of the synthetic dataset takes well under a minute
+    private static final String RETRY_AFTER_BUILD = "10";
+
+    private final SearchService searchService;
+
+    @GetMapping
+    public ResponseEntity<SearchResultDTO> search(
+            @RequestParam("q") String query,
+            @RequestParam(defaultValue = "20") int limit,
+            @NonNull Authentication authentication) {
+        if (query.length() > MAX_QUERY_LENGTH) {
+            return ResponseEntity.badRequest().build();
+        }
+        return searchService.search(UserPrincipal.idOf(authentication), query, limit)
+                .map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                        .header(HttpHeaders.RETRY_AFTER, RETRY_AFTER_BUILD)
+                        .build());
+    }
+}
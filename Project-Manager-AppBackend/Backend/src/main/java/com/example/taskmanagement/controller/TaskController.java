@@ -1,10 +1,25 @@
 package com.example.taskmanagement.controller;
 
+import com.example.taskmanagement.dto.TaskBatchRequest;
+import com.example.taskmanagement.dto.TaskBatchResult;
+import com.example.taskmanagement.dto.TaskCursor;
 import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.dto.TaskPageDTO;
+import com.example.taskmanagement.model.Project;
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.enums.Priority;
+import com.example.taskmanagement.model.enums.TaskStatus;
+import com.example.taskmanagement.security.UserPrincipal;
+import com.example.taskmanagement.service.ProjectService;
+import com.example.taskmanagement.service.TaskExportService;
 import com.example.taskmanagement.service.TaskService;
+import jakarta.persistence.EntityNotFoundException;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.lang.NonNull;
 import org.springframework.security.core.Authentication;
@@ -12,9 +27,13 @@ import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
 import java.net.URI;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
 
 @RestController
 @RequestMapping("/api/projects/{projectId}/tasks")
@@ -23,25 +42,61 @@ import java.util.stream.Collectors;
 public class TaskController {
 
     private final TaskService taskService;
+    private final ProjectService projectService;
+    private final TaskExportService taskExportService;
 
+    // The tasks version is read before the page, so a concurrent write can only make
+    // the tag older than the page and never let a stale page pass as current
     @GetMapping
-    public List<TaskDTO> getProjectTasks(
-            @PathVariable @NotNull Long projectId, 
+    public ResponseEntity<TaskPageDTO> getProjectTasks(
+            @PathVariable @NotNull Long projectId,
+            @RequestParam(required = false) TaskStatus status,
+            @RequestParam(required = false) Priority priority,
+            @RequestParam(required = false) Boolean completed,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate dueTo,
+            @RequestParam(defaultValue = "ID") TaskCursor.Sort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @NonNull Authentication authentication) {
-        return taskService.getProjectTasks(projectId, authentication.getName())
-                .stream()
-                .map(TaskDTO::from)
-                .collect(Collectors.toList());
+        Long userId = UserPrincipal.idOf(authentication);
+        Project project = projectService.getProject(projectId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
+        TaskFilter filter = new TaskFilter(status, priority, completed, dueFrom, dueTo);
+        return ETags.respond(ETags.ofTasks(project), ifNoneMatch,
+                () -> taskService.getProjectTasksPage(projectId, userId, filter, sort, cursor, limit));
+    }
+
+    @GetMapping("/export")
+    public void exportProjectTasks(
+            @PathVariable @NotNull Long projectId,
+            @RequestParam(defaultValue = "NDJSON") TaskExportService.Format format,
+            @NonNull Authentication authentication,
+            HttpServletResponse response) throws IOException {
+        Long userId = UserPrincipal.idOf(authentication);
+        // Before any header is set, so a missing or foreign project is a plain 404
+        if (!projectService.isProjectOwnedByUser(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found");
+        }
+        response.setContentType(format.getContentType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION,
+                "attachment; filename=\"project-" + projectId + "-tasks." + format.getExtension() + "\"");
+        Writer writer = new BufferedWriter(
+                new OutputStreamWriter(response.getOutputStream(), StandardCharsets.UTF_8));
+        taskExportService.exportProjectTasks(projectId, userId, format, writer);
+        writer.flush();
     }
 
     @GetMapping("/{taskId}")
     public ResponseEntity<TaskDTO> getTask(
             @PathVariable @NotNull Long projectId,
             @PathVariable @NotNull Long taskId,
+            @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
             @NonNull Authentication authentication) {
-        return taskService.getTask(taskId, authentication.getName())
-                .map(TaskDTO::from)
-                .map(ResponseEntity::ok)
+        return taskService.getTask(projectId, taskId, UserPrincipal.idOf(authentication))
+                .map(task -> ETags.respond(ETags.of(task), ifNoneMatch, () -> TaskDTO.from(task)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -50,7 +105,7 @@ public class TaskController {
             @PathVariable @NotNull Long projectId, 
             @RequestBody @NotNull Task task, 
             @NonNull Authentication authentication) {
-        Task createdTask = taskService.createTask(projectId, task, authentication.getName());
+        Task createdTask = taskService.createTask(projectId, task, UserPrincipal.idOf(authentication));
         TaskDTO taskDTO = TaskDTO.from(createdTask);
         
         URI location = ServletUriComponentsBuilder
@@ -62,15 +117,24 @@ public class TaskController {
         return ResponseEntity.created(location).body(taskDTO);
     }
 
+    @PostMapping("/batch")
+    public TaskBatchResult applyBatch(
+            @PathVariable @NotNull Long projectId,
+            @RequestBody @NotNull TaskBatchRequest batch,
+            @NonNull Authentication authentication) {
+        return taskService.applyBatch(projectId, batch, UserPrincipal.idOf(authentication));
+    }
+
     @PutMapping("/{taskId}")
     public ResponseEntity<TaskDTO> updateTask(
             @PathVariable @NotNull Long projectId,
             @PathVariable @NotNull Long taskId,
             @RequestBody @NotNull Task task,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
             @NonNull Authentication authentication) {
-        return taskService.updateTask(taskId, task, authentication.getName())
-                .map(TaskDTO::from)
-                .map(ResponseEntity::ok)
+        Long expectedVersion = ETags.expectedVersion(ifMatch, taskId);
+        return taskService.updateTask(projectId, taskId, task, expectedVersion, UserPrincipal.idOf(authentication))
+                .map(updatedTask -> ResponseEntity.ok().eTag(ETags.of(updatedTask)).body(TaskDTO.from(updatedTask)))
                 .orElse(ResponseEntity.notFound().build());
     }
 
@@ -79,7 +143,7 @@ public class TaskController {
             @PathVariable @NotNull Long projectId, 
             @PathVariable @NotNull Long taskId,
             @NonNull Authentication authentication) {
-        taskService.markTaskAsCompleted(taskId, authentication.getName());
+        taskService.markTaskAsCompleted(projectId, taskId, UserPrincipal.idOf(authentication));
         return ResponseEntity.ok().build();
     }
 
@@ -88,7 +152,7 @@ public class TaskController {
             @PathVariable @NotNull Long projectId,
             @PathVariable @NotNull Long taskId,
             @NonNull Authentication authentication) {
-        taskService.deleteTask(taskId, authentication.getName());
+        taskService.deleteTask(projectId, taskId, UserPrincipal.idOf(authentication));
         return ResponseEntity.noContent().build();
     }
 }
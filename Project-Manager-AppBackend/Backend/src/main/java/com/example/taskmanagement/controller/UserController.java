@@ -2,9 +2,12 @@ package com.example.taskmanagement.controller;
 
 import com.example.taskmanagement.dto.UserDTO;
 import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.service.DeletionService;
 import com.example.taskmanagement.service.UserService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
@@ -15,6 +18,7 @@ import org.springframework.web.bind.annotation.*;
 public class UserController {
 
     private final UserService userService;
+    private final DeletionService deletionService;
 
     @GetMapping("/me")
     public ResponseEntity<UserDTO> getCurrentUser(Authentication authentication) {
@@ -34,9 +38,18 @@ public class UserController {
                 .orElse(ResponseEntity.notFound().build());
     }
 
+    /**
+     * 202 when the account is large and being deleted in the background, 503 when too many
+     * deletions are waiting for that, 204 otherwise.
+     */
     @DeleteMapping("/me")
     public ResponseEntity<Void> deleteCurrentUser(Authentication authentication) {
-        userService.deleteUser(authentication.getName());
-        return ResponseEntity.noContent().build();
+        return switch (deletionService.deleteUser(authentication.getName())) {
+            case PURGING -> ResponseEntity.accepted().build();
+            case BUSY -> ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                    .header(HttpHeaders.RETRY_AFTER, DeletionService.RETRY_AFTER_PURGES)
+                    .build();
+            case DELETED, NOT_FOUND -> ResponseEntity.noContent().build();
+        };
     }
 }
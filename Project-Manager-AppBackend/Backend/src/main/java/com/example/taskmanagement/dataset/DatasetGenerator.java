@@ -0,0 +1,185 @@
+package com.example.taskmanagement.dataset;
+
+import com.example.taskmanagement.model.enums.Priority;
+import com.example.taskmanagement.model.enums.TaskStatus;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic synthetic data: the same {@link Spec} always yields the same users,
+ * projects and tasks. Project counts per user are log-normal (most users have one
+ * to three, a few have dozens) and task counts per project are Pareto-distributed,
+ * so most projects are small while a long tail reaches {@code maxTasksPerProject}.
+ * <p>
+ * Every task is a pure function of its project's seed and its index, so the plan
+ * can count completed tasks without generating them, and loading can stream tasks
+ * without holding them.
+ */
+public class DatasetGenerator {
+
+    public record Spec(
+            long seed,
+            int users,
+            double projectsMedian,
+            double projectsSigma,
+            int maxProjectsPerUser,
+            int minTasksPerProject,
+            double taskTailAlpha,
+            int maxTasksPerProject,
+            int largestProjects,
+            LocalDate referenceDate) {
+    }
+
+    /** A project before ids are assigned; {@code userIndex} is the owner's position in the user list. */
+    public record ProjectPlan(int userIndex, int index, long seed, int taskCount, int completedCount) {
+    }
+
+    public record TaskRow(String title, String description, LocalDate dueDate, boolean completed,
+                          Priority priority, TaskStatus status) {
+    }
+
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+
+    private static final String[] VERBS = {
+            "Review", "Fix", "Implement", "Write", "Update", "Test", "Design", "Refactor", "Document",
+            "Deploy", "Investigate", "Prepare", "Migrate", "Plan", "Clean up", "Measure"};
+    private static final String[] SUBJECTS = {
+            "login page", "API docs", "billing report", "search results", "onboarding flow", "release notes",
+            "database backup", "user settings", "dashboard", "email templates", "export job", "mobile layout",
+            "access rules", "error handling", "invoice PDF", "test suite", "CI pipeline", "landing page",
+            "sprint board", "customer feedback", "cache layer", "audit log", "notifications", "budget sheet"};
+    private static final String[] CONTEXTS = {
+            "", "", "", " for Q3", " before launch", " (follow-up)", " for the client", " v2", " on staging"};
+    private static final String[] DESCRIPTIONS = {
+            "Agreed in the weekly sync.",
+            "See the linked ticket for details and acceptance criteria.",
+            "Needs a second pair of eyes before merging.",
+            "Blocked until the design is signed off.",
+            "Small change, should not take more than an hour.",
+            "Customer reported this twice, please prioritise.",
+            "Split out of a larger task; keep the scope tight.",
+            "Coordinate with the platform team, they own the config."};
+    private static final String[] PROJECT_THEMES = {
+            "Website", "Mobile App", "Internal Tools", "Marketing", "Operations", "Research", "Platform",
+            "Hiring", "Finance", "Support", "Data", "Security"};
+
+    private final Spec spec;
+
+    public DatasetGenerator(Spec spec) {
+        this.spec = spec;
+    }
+
+    /**
+     * Every project, grouped by owner in user order. The first {@code largestProjects}
+     * projects get {@code maxTasksPerProject} tasks, so the worst case is always present.
+     */
+    public List<ProjectPlan> planProjects() {
+        List<ProjectPlan> projects = new ArrayList<>();
+        for (int user = 0; user < spec.users(); user++) {
+            SplittableRandom random = new SplittableRandom(mix(spec.seed() ^ mix(user + 1L)));
+            int projectCount = clamp(Math.round(Math.exp(Math.log(spec.projectsMedian())
+                    + spec.projectsSigma() * random.nextGaussian())), 1, spec.maxProjectsPerUser());
+            for (int p = 0; p < projectCount; p++) {
+                long projectSeed = random.nextLong();
+                int taskCount = projects.size() < spec.largestProjects()
+                        ? spec.maxTasksPerProject()
+                        : paretoTaskCount(random.nextDouble());
+                projects.add(new ProjectPlan(user, p, projectSeed, taskCount, countCompleted(projectSeed, taskCount)));
+            }
+        }
+        return projects;
+    }
+
+    public String email(int userIndex) {
+        return "user" + userIndex + ".s" + spec.seed() + "@dataset.example.com";
+    }
+
+    public String userName(int userIndex) {
+        return "Dataset User " + userIndex;
+    }
+
+    public String projectTitle(ProjectPlan project) {
+        return PROJECT_THEMES[(int) Long.remainderUnsigned(project.seed(), PROJECT_THEMES.length)]
+                + " " + (project.index() + 1);
+    }
+
+    public String projectDescription(ProjectPlan project) {
+        return "Synthetic project with " + project.taskCount() + " tasks";
+    }
+
+    public TaskRow task(ProjectPlan project, int index) {
+        long bits = taskBits(project.seed(), index);
+        long text = mix(bits);
+        TaskStatus status = status(bits);
+        Priority priority = priority(bits);
+
+        // 30% have no due date; finished work is due in the past more often than open work
+        LocalDate dueDate = null;
+        if (percent(bits >>> 32) >= 30) {
+            int offset = (int) Long.remainderUnsigned(bits >>> 48, 181) - 60;
+            dueDate = spec.referenceDate().plusDays(status == TaskStatus.DONE ? offset - 60 : offset);
+        }
+        String title = VERBS[(int) Long.remainderUnsigned(text, VERBS.length)] + " "
+                + SUBJECTS[(int) Long.remainderUnsigned(text >>> 8, SUBJECTS.length)]
+                + CONTEXTS[(int) Long.remainderUnsigned(text >>> 16, CONTEXTS.length)];
+        String description = percent(text >>> 24) < 45
+                ? null
+                : DESCRIPTIONS[(int) Long.remainderUnsigned(text >>> 40, DESCRIPTIONS.length)];
+        return new TaskRow(title, description, dueDate, status == TaskStatus.DONE, priority, status);
+    }
+
+    private int paretoTaskCount(double uniform) {
+        double count = spec.minTasksPerProject() / Math.pow(1 - uniform, 1 / spec.taskTailAlpha());
+        return (int) Math.min(spec.maxTasksPerProject(), Math.floor(count));
+    }
+
+    private static int countCompleted(long projectSeed, int taskCount) {
+        int completed = 0;
+        for (int i = 0; i < taskCount; i++) {
+            if (status(taskBits(projectSeed, i)) == TaskStatus.DONE) {
+                completed++;
+            }
+        }
+        return completed;
+    }
+
+    /** TODO 40%, IN_PROGRESS 25%, IN_REVIEW 10%, DONE 25%. */
+    private static TaskStatus status(long bits) {
+        int roll = percent(bits);
+        return roll < 40 ? TaskStatus.TODO
+                : roll < 65 ? TaskStatus.IN_PROGRESS
+                : roll < 75 ? TaskStatus.IN_REVIEW
+                : TaskStatus.DONE;
+    }
+
+    /** LOW 30%, MEDIUM 40%, HIGH 22%, URGENT 8%. */
+    private static Priority priority(long bits) {
+        int roll = percent(bits >>> 16);
+        return roll < 30 ? Priority.LOW
+                : roll < 70 ? Priority.MEDIUM
+                : roll < 92 ? Priority.HIGH
+                : Priority.URGENT;
+    }
+
+    private static long taskBits(long projectSeed, int index) {
+        return mix(projectSeed + (index + 1L) * GOLDEN_GAMMA);
+    }
+
+    private static int percent(long bits) {
+        return (int) ((bits & 0xFFFF) % 100);
+    }
+
+    private static int clamp(long value, int min, int max) {
+        return (int) Math.max(min, Math.min(max, value));
+    }
+
+    /** SplitMix64 finalizer: a cheap, well-distributed 64-bit hash. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
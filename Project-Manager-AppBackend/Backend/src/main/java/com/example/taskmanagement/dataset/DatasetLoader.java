@@ -0,0 +1,207 @@
+package com.example.taskmanagement.dataset;
+
+import com.example.taskmanagement.dataset.DatasetGenerator.ProjectPlan;
+import com.example.taskmanagement.dataset.DatasetGenerator.TaskRow;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.context.annotation.Profile;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Bulk-loads a {@link DatasetGenerator} dataset when the {@code dataset} profile is
+ * active, then exits. Writes bypass JPA: users, then projects with their task
+ * counters already set, then tasks, each table through a single {@link TableWriter}.
+ * Ids continue after the current maximum and the id sequences are moved past the
+ * loaded rows, so do not run it while the application serves writes.
+ */
+@Slf4j
+@Component
+@Profile("dataset")
+public class DatasetLoader implements ApplicationRunner {
+
+    /** allocationSize of the pooled Project and Task id generators. */
+    private static final int SEQUENCE_INCREMENT = 50;
+
+    private static final List<String> USER_COLUMNS = List.of("id", "email", "password", "name", "version");
+    private static final List<String> PROJECT_COLUMNS = List.of(
+            "id", "title", "description", "user_id", "total_tasks", "completed_tasks", "tasks_version", "version");
+    private static final List<String> TASK_COLUMNS = List.of(
+            "id", "title", "description", "due_date", "completed", "priority", "priority_rank", "status",
+            "project_id", "version");
+
+    private final DataSource dataSource;
+    private final PasswordEncoder passwordEncoder;
+    private final ConfigurableApplicationContext context;
+    private final DatasetGenerator.Spec spec;
+    private final String password;
+    private final boolean truncate;
+    private final int rowsPerInsert;
+
+    public DatasetLoader(
+            DataSource dataSource,
+            PasswordEncoder passwordEncoder,
+            ConfigurableApplicationContext context,
+            @Value("${dataset.seed:42}") long seed,
+            @Value("${dataset.users:5000}") int users,
+            @Value("${dataset.projects-per-user.median:2}") double projectsMedian,
+            @Value("${dataset.projects-per-user.sigma:1.0}") double projectsSigma,
+            @Value("${dataset.projects-per-user.max:200}") int maxProjectsPerUser,
+            @Value("${dataset.tasks-per-project.min:3}") int minTasksPerProject,
+            @Value("${dataset.tasks-per-project.alpha:1.1}") double taskTailAlpha,
+            @Value("${dataset.tasks-per-project.max:1000000}") int maxTasksPerProject,
+            @Value("${dataset.largest-projects:1}") int largestProjects,
+            @Value("${dataset.reference-date:2025-01-01}") LocalDate referenceDate,
+            @Value("${dataset.password:password}") String password,
+            @Value("${dataset.truncate:false}") boolean truncate,
+            @Value("${dataset.rows-per-insert:500}") int rowsPerInsert) {
+        this.dataSource = dataSource;
+        this.passwordEncoder = passwordEncoder;
+        this.context = context;
+        this.spec = new DatasetGenerator.Spec(seed, users, projectsMedian, projectsSigma, maxProjectsPerUser,
+                minTasksPerProject, taskTailAlpha, maxTasksPerProject, largestProjects, referenceDate);
+        this.password = password;
+        this.truncate = truncate;
+        this.rowsPerInsert = rowsPerInsert;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) throws SQLException {
+        load();
+        System.exit(SpringApplication.exit(context, () -> 0));
+    }
+
+    public void load() throws SQLException {
+        long started = System.nanoTime();
+        DatasetGenerator generator = new DatasetGenerator(spec);
+        List<ProjectPlan> projects = generator.planProjects();
+        long taskTotal = projects.stream().mapToLong(ProjectPlan::taskCount).sum();
+        log.info("Dataset seed {}: {} users, {} projects, {} tasks (largest project {})", spec.seed(), spec.users(),
+                projects.size(), taskTotal, projects.stream().mapToInt(ProjectPlan::taskCount).max().orElse(0));
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            boolean postgres = connection.getMetaData().getDatabaseProductName().equals("PostgreSQL");
+            if (truncate) {
+                truncate(connection, postgres);
+            }
+            long firstUserId = nextId(connection, "users");
+            long firstProjectId = nextId(connection, "projects");
+            long firstTaskId = nextId(connection, "tasks");
+
+            // Every user shares one hash: BCrypt per row would dominate the load time
+            String passwordHash = passwordEncoder.encode(password);
+            TableWriter users = TableWriter.open(connection, "users", USER_COLUMNS, rowsPerInsert);
+            for (int u = 0; u < spec.users(); u++) {
+                users.row(firstUserId + u, generator.email(u), passwordHash, generator.userName(u), 0L);
+            }
+            log.info("Loaded {} users", users.finish());
+
+            TableWriter projectWriter = TableWriter.open(connection, "projects", PROJECT_COLUMNS, rowsPerInsert);
+            for (int p = 0; p < projects.size(); p++) {
+                ProjectPlan project = projects.get(p);
+                projectWriter.row(firstProjectId + p, generator.projectTitle(project),
+                        generator.projectDescription(project), firstUserId + project.userIndex(),
+                        (long) project.taskCount(), (long) project.completedCount(), 0L, 0L);
+            }
+            log.info("Loaded {} projects", projectWriter.finish());
+
+            TableWriter tasks = TableWriter.open(connection, "tasks", TASK_COLUMNS, rowsPerInsert);
+            long taskId = firstTaskId;
+            long nextReport = 1_000_000;
+            for (int p = 0; p < projects.size(); p++) {
+                ProjectPlan project = projects.get(p);
+                for (int t = 0; t < project.taskCount(); t++) {
+                    TaskRow task = generator.task(project, t);
+                    tasks.row(taskId++, task.title(), task.description(), task.dueDate(), task.completed(),
+                            task.priority(), task.priority().getRank(), task.status(), firstProjectId + p, 0L);
+                }
+                if (taskId - firstTaskId >= nextReport) {
+                    log.info("{} of {} tasks written", taskId - firstTaskId, taskTotal);
+                    nextReport += 1_000_000;
+                }
+            }
+            log.info("Loaded {} tasks", tasks.finish());
+
+            moveIdentity(connection, postgres, "users", firstUserId + spec.users());
+            moveSequence(connection, postgres, "projects_id_seq", firstProjectId + projects.size());
+            moveSequence(connection, postgres, "tasks_id_seq", taskId);
+            if (postgres) {
+                analyze(connection);
+            }
+            connection.commit();
+        }
+        log.info("Dataset loaded in {}s", Duration.ofNanos(System.nanoTime() - started).toSeconds());
+    }
+
+    private static void truncate(Connection connection, boolean postgres) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                // Sessions and revocations go too: they belong to the users being replaced
+                statement.execute("TRUNCATE tasks, projects, refresh_tokens, revoked_tokens, users");
+            } else {
+                statement.execute("DELETE FROM refresh_tokens");
+                statement.execute("DELETE FROM revoked_tokens");
+                statement.execute("DELETE FROM tasks");
+                statement.execute("DELETE FROM projects");
+                statement.execute("DELETE FROM users");
+            }
+        }
+        connection.commit();
+    }
+
+    private static long nextId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet result = statement.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM " + table)) {
+            result.next();
+            return result.getLong(1);
+        }
+    }
+
+    /** {@code users.id} is an identity column, handed out one by one. */
+    private static void moveIdentity(Connection connection, boolean postgres, String table, long nextId)
+            throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("SELECT setval(pg_get_serial_sequence('" + table + "', 'id'), " + nextId + ", false)");
+            } else {
+                statement.execute("ALTER TABLE " + table + " ALTER COLUMN id RESTART WITH " + nextId);
+            }
+        }
+    }
+
+    /**
+     * The pooled optimizer treats a fetched value as the top of a block of
+     * {@value #SEQUENCE_INCREMENT} ids, so the next value must be a full block past the data.
+     */
+    private static void moveSequence(Connection connection, boolean postgres, String sequence, long nextId)
+            throws SQLException {
+        long nextValue = nextId - 1 + SEQUENCE_INCREMENT;
+        try (Statement statement = connection.createStatement()) {
+            if (postgres) {
+                statement.execute("SELECT setval('" + sequence + "', " + nextValue + ", false)");
+            } else {
+                statement.execute("ALTER SEQUENCE " + sequence + " RESTART WITH " + nextValue);
+            }
+        }
+    }
+
+    private static void analyze(Connection connection) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("ANALYZE users, projects, tasks");
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.taskmanagement.dataset;
+
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Bulk writer for one table, used by {@link DatasetLoader}. Rows are buffered and
+ * sent in large chunks; {@link #finish()} flushes the rest and commits.
+ */
+interface TableWriter {
+
+    void row(Object... values) throws SQLException;
+
+    /** Flushes, commits and returns the number of rows written. */
+    long finish() throws SQLException;
+
+    /** PostgreSQL's COPY protocol when the connection supports it, multi-row INSERTs otherwise. */
+    static TableWriter open(Connection connection, String table, List<String> columns, int rowsPerInsert)
+            throws SQLException {
+        if (connection.isWrapperFor(PGConnection.class)) {
+            return new Copy(connection, table, columns);
+        }
+        return new MultiRowInsert(connection, table, columns, rowsPerInsert);
+    }
+
+    /** Streams CSV through {@code COPY ... FROM STDIN}; the whole table loads in one statement. */
+    final class Copy implements TableWriter {
+
+        private static final int FLUSH_BYTES = 1 << 20;
+
+        private final Connection connection;
+        private final CopyIn copy;
+        private final StringBuilder buffer = new StringBuilder(FLUSH_BYTES + 4096);
+        private long rows;
+
+        private Copy(Connection connection, String table, List<String> columns) throws SQLException {
+            this.connection = connection;
+            this.copy = connection.unwrap(PGConnection.class).getCopyAPI()
+                    .copyIn("COPY " + table + " (" + String.join(", ", columns) + ") FROM STDIN (FORMAT csv)");
+        }
+
+        @Override
+        public void row(Object... values) throws SQLException {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) {
+                    buffer.append(',');
+                }
+                appendCsv(values[i]);
+            }
+            buffer.append('\n');
+            rows++;
+            if (buffer.length() >= FLUSH_BYTES) {
+                flush();
+            }
+        }
+
+        @Override
+        public long finish() throws SQLException {
+            flush();
+            copy.endCopy();
+            connection.commit();
+            return rows;
+        }
+
+        /** Unquoted empty is NULL in CSV mode, so strings are always quoted. */
+        private void appendCsv(Object value) {
+            if (value == null) {
+                return;
+            }
+            if (value instanceof String text) {
+                buffer.append('"');
+                for (int i = 0; i < text.length(); i++) {
+                    char c = text.charAt(i);
+                    if (c == '"') {
+                        buffer.append('"');
+                    }
+                    buffer.append(c);
+                }
+                buffer.append('"');
+            } else if (value instanceof Enum<?> constant) {
+                buffer.append(constant.name());
+            } else {
+                buffer.append(value);
+            }
+        }
+
+        private void flush() throws SQLException {
+            if (buffer.isEmpty()) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            copy.writeToCopy(bytes, 0, bytes.length);
+            buffer.setLength(0);
+        }
+    }
+
+    /**
+     * {@code INSERT ... VALUES (...), (...), ...} with {@code rowsPerInsert} rows per
+     * statement, sent as JDBC batches and committed every {@value #COMMIT_ROWS} rows.
+     */
+    final class MultiRowInsert implements TableWriter {
+
+        private static final int STATEMENTS_PER_BATCH = 20;
+        private static final int COMMIT_ROWS = 100_000;
+
+        private final Connection connection;
+        private final String table;
+        private final List<String> columns;
+        private final int rowsPerInsert;
+        private final PreparedStatement insert;
+        private final Object[][] pending;
+        private int pendingRows;
+        private int batchedStatements;
+        private long rows;
+        private long uncommittedRows;
+
+        private MultiRowInsert(Connection connection, String table, List<String> columns, int rowsPerInsert)
+                throws SQLException {
+            this.connection = connection;
+            this.table = table;
+            this.columns = columns;
+            this.rowsPerInsert = rowsPerInsert;
+            this.insert = connection.prepareStatement(insertSql(rowsPerInsert));
+            this.pending = new Object[rowsPerInsert][];
+        }
+
+        @Override
+        public void row(Object... values) throws SQLException {
+            pending[pendingRows++] = values;
+            rows++;
+            if (pendingRows == rowsPerInsert) {
+                bind(insert, pendingRows);
+                insert.addBatch();
+                pendingRows = 0;
+                uncommittedRows += rowsPerInsert;
+                if (++batchedStatements == STATEMENTS_PER_BATCH) {
+                    insert.executeBatch();
+                    batchedStatements = 0;
+                    if (uncommittedRows >= COMMIT_ROWS) {
+                        connection.commit();
+                        uncommittedRows = 0;
+                    }
+                }
+            }
+        }
+
+        @Override
+        public long finish() throws SQLException {
+            if (batchedStatements > 0) {
+                insert.executeBatch();
+            }
+            insert.close();
+            if (pendingRows > 0) {
+                try (PreparedStatement tail = connection.prepareStatement(insertSql(pendingRows))) {
+                    bind(tail, pendingRows);
+                    tail.executeUpdate();
+                }
+            }
+            connection.commit();
+            return rows;
+        }
+
+        private String insertSql(int rowCount) {
+            String[] placeholders = new String[columns.size()];
+            Arrays.fill(placeholders, "?");
+            String tuple = "(" + String.join(", ", placeholders) + ")";
+            StringBuilder sql = new StringBuilder("INSERT INTO ").append(table)
+                    .append(" (").append(String.join(", ", columns)).append(") VALUES ");
+            for (int i = 0; i < rowCount; i++) {
+                sql.append(i > 0 ? ", " : "").append(tuple);
+            }
+            return sql.toString();
+        }
+
+        private void bind(PreparedStatement statement, int rowCount) throws SQLException {
+            int parameter = 1;
+            for (int r = 0; r < rowCount; r++) {
+                for (Object value : pending[r]) {
+                    if (value instanceof LocalDate date) {
+                        statement.setDate(parameter++, Date.valueOf(date));
+                    } else if (value instanceof Enum<?> constant) {
+                        statement.setString(parameter++, constant.name());
+                    } else {
+                        statement.setObject(parameter++, value);
+                    }
+                }
+            }
+        }
+    }
+}
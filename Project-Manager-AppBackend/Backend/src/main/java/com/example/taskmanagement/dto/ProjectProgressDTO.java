@@ -1,10 +1,5 @@
 package com.example.taskmanagement.dto;
 
-import com.example.taskmanagement.model.Project;
-import com.example.taskmanagement.model.Task;
-
-import java.util.List;
-
 public record ProjectProgressDTO(
     Long projectId,
     String projectName,
@@ -12,18 +7,21 @@ public record ProjectProgressDTO(
     int completedTasks,
     double progress
 ) {
-    public static ProjectProgressDTO from(Project project) {
-        List<Task> tasks = project.getTasks();
-        int total = tasks != null ? tasks.size() : 0;
-        int completed = tasks != null ? (int) tasks.stream().filter(Task::isCompleted).count() : 0;
+    /**
+     * Used by the grouped aggregate query in {@code TaskRepository}, so the
+     * counts arrive already computed and no task collection is touched.
+     */
+    public ProjectProgressDTO(Long projectId, String projectName, Long totalTasks, Long completedTasks) {
+        this(projectId, projectName, toInt(totalTasks), toInt(completedTasks),
+                percentage(toInt(totalTasks), toInt(completedTasks)));
+    }
+
+    private static int toInt(Long count) {
+        return count != null ? count.intValue() : 0;
+    }
+
+    private static double percentage(int total, int completed) {
         double progress = total > 0 ? (completed * 100.0) / total : 0;
-        
-        return new ProjectProgressDTO(
-            project.getId(),
-            project.getTitle(),
-            total,
-            completed,
-            Math.round(progress * 100.0) / 100.0
-        );
+        return Math.round(progress * 100.0) / 100.0;
     }
 }
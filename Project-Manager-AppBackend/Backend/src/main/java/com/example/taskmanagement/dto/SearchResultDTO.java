@@ -0,0 +1,15 @@
+package com.example.taskmanagement.dto;
+
+import java.util.List;
+
+/** Matching projects and tasks of the current user, newest first. */
+public record SearchResultDTO(
+    List<ProjectDTO> projects,
+    List<TaskHit> tasks
+) {
+    public record TaskHit(
+        Long projectId,
+        TaskDTO task
+    ) {
+    }
+}
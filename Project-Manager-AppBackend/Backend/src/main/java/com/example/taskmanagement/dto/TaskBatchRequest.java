@@ -0,0 +1,25 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+
+import java.util.List;
+
+/**
+ * Mixed task mutations applied to one project in a single transaction,
+ * in the order create, update, complete, delete. Updates carry the task id and
+ * only the fields that change.
+ */
+public record TaskBatchRequest(
+    List<Task> create,
+    List<TaskUpdate> update,
+    List<Long> complete,
+    List<Long> delete
+) {
+    public int size() {
+        return sizeOf(create) + sizeOf(update) + sizeOf(complete) + sizeOf(delete);
+    }
+
+    private static int sizeOf(List<?> items) {
+        return items != null ? items.size() : 0;
+    }
+}
@@ -0,0 +1,32 @@
+package com.example.taskmanagement.dto;
+
+import java.util.List;
+
+/**
+ * Per-item outcome of a {@link TaskBatchRequest}, in request order.
+ */
+public record TaskBatchResult(
+    List<Item> created,
+    List<Item> updated,
+    List<Item> completed,
+    List<Item> deleted
+) {
+    public enum Status {
+        OK,
+        NOT_FOUND
+    }
+
+    public record Item(
+        Long id,
+        Status status,
+        TaskDTO task
+    ) {
+        public static Item ok(Long id, TaskDTO task) {
+            return new Item(id, Status.OK, task);
+        }
+
+        public static Item notFound(Long id) {
+            return new Item(id, Status.NOT_FOUND, null);
+        }
+    }
+}
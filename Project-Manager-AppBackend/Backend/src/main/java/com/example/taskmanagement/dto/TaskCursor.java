@@ -0,0 +1,80 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in a task listing: the sort key of the last returned
+ * task plus its id as tie-breaker. Encoded as URL-safe base64 so clients treat
+ * it as a token rather than building their own.
+ */
+public record TaskCursor(
+    Sort sort,
+    String key,
+    Long id
+) {
+    public enum Sort {
+        ID("id"),
+        DUE_DATE("dueDate"),
+        PRIORITY("priorityRank");
+
+        private final String property;
+
+        Sort(String property) {
+            this.property = property;
+        }
+
+        /** Entity attribute holding the sort key, or {@code id} for plain id order. */
+        public String getProperty() {
+            return property;
+        }
+    }
+
+    public static TaskCursor after(Sort sort, Task task) {
+        String key = switch (sort) {
+            case ID -> null;
+            case DUE_DATE -> task.getDueDate() != null ? task.getDueDate().toString() : null;
+            case PRIORITY -> task.getPriorityRank() != null ? task.getPriorityRank().toString() : null;
+        };
+        return new TaskCursor(sort, key, task.getId());
+    }
+
+    public LocalDate dueDateKey() {
+        return key != null ? LocalDate.parse(key) : null;
+    }
+
+    public Integer priorityRankKey() {
+        return key != null ? Integer.valueOf(key) : null;
+    }
+
+    public String encode() {
+        String raw = sort.name() + "|" + (key != null ? key : "") + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            if (parts.length != 3) {
+                throw new IllegalArgumentException("Invalid cursor");
+            }
+            TaskCursor decoded = new TaskCursor(
+                    Sort.valueOf(parts[0]),
+                    parts[1].isEmpty() ? null : parts[1],
+                    Long.valueOf(parts[2]));
+            // Fail fast on tampered keys instead of at query time
+            switch (decoded.sort()) {
+                case DUE_DATE -> decoded.dueDateKey();
+                case PRIORITY -> decoded.priorityRankKey();
+                default -> { }
+            }
+            return decoded;
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor", e);
+        }
+    }
+}
@@ -1,12 +1,19 @@
 package com.example.taskmanagement.dto;
 
 import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.enums.Priority;
+import com.example.taskmanagement.model.enums.TaskStatus;
+
+import java.time.LocalDate;
 
 public record TaskDTO(
     Long id,
     String title,
     String description,
-    boolean completed
+    boolean completed,
+    LocalDate dueDate,
+    Priority priority,
+    TaskStatus status
 ) {
     public static TaskDTO from(Task task) {
         if (task == null) {
@@ -16,7 +23,10 @@ public record TaskDTO(
             task.getId(),
             task.getTitle(),
             task.getDescription(),
-            task.isCompleted()
+            task.isCompleted(),
+            task.getDueDate(),
+            task.getPriority(),
+            task.getStatus()
         );
     }
 }
@@ -0,0 +1,21 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.enums.Priority;
+import com.example.taskmanagement.model.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Optional server-side filters for task listings; {@code null} means "any".
+ */
+public record TaskFilter(
+    TaskStatus status,
+    Priority priority,
+    Boolean completed,
+    LocalDate dueFrom,
+    LocalDate dueTo
+) {
+    public static TaskFilter none() {
+        return new TaskFilter(null, null, null, null, null);
+    }
+}
@@ -0,0 +1,9 @@
+package com.example.taskmanagement.dto;
+
+import java.util.List;
+
+public record TaskPageDTO(
+    List<TaskDTO> items,
+    String nextCursor
+) {
+}
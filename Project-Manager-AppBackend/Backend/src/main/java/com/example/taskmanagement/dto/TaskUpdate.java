@@ -0,0 +1,27 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.enums.Priority;
+import com.example.taskmanagement.model.enums.TaskStatus;
+
+import java.time.LocalDate;
+
+/**
+ * Changes to one task; {@code null} means "leave as is", so a batch item that only
+ * renames a task does not reopen it.
+ */
+public record TaskUpdate(
+    Long id,
+    String title,
+    String description,
+    LocalDate dueDate,
+    Boolean completed,
+    Priority priority,
+    TaskStatus status
+) {
+    /** The changes a full task body makes, as sent to {@code PUT}: it always carries {@code completed}. */
+    public static TaskUpdate from(Task task) {
+        return new TaskUpdate(task.getId(), task.getTitle(), task.getDescription(), task.getDueDate(),
+                task.isCompleted(), task.getPriority(), task.getStatus());
+    }
+}
@@ -0,0 +1,16 @@
+package com.example.taskmanagement.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+
+/**
+ * Sees every statement Hibernate prepares, including native queries, and counts it
+ * against the current request. The SQL is passed through unchanged.
+ */
+public class CountingStatementInspector implements StatementInspector {
+
+    @Override
+    public String inspect(String sql) {
+        RequestSqlStatements.record(sql);
+        return sql;
+    }
+}
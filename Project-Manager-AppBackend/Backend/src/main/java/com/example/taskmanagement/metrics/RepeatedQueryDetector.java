@@ -0,0 +1,71 @@
+package com.example.taskmanagement.metrics;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Flags requests that ran the same query several times, the usual sign of an N+1
+ * pattern or of layers each looking up the same row. Every detection is logged,
+ * counted in {@code request.sql.repeated} and kept among the most recent ones
+ * served by {@code /actuator/repeatedqueries}.
+ */
+@Slf4j
+@Component
+@Endpoint(id = "repeatedqueries")
+public class RepeatedQueryDetector {
+
+    public record Detection(Instant at, String method, String uri, String sql, int executions,
+                            int requestStatements) {
+    }
+
+    private final MeterRegistry meterRegistry;
+    private final int threshold;
+    private final int retained;
+    private final Deque<Detection> recent = new ArrayDeque<>();
+
+    public RepeatedQueryDetector(
+            MeterRegistry meterRegistry,
+            @Value("${sql.repeated-queries.threshold:2}") int threshold,
+            @Value("${sql.repeated-queries.retained:100}") int retained) {
+        this.meterRegistry = meterRegistry;
+        this.threshold = threshold;
+        this.retained = retained;
+    }
+
+    void inspect(String method, String uri, RequestSqlStatements statements) {
+        statements.forEachRepeatedQuery(threshold, (sql, executions) -> {
+            log.warn("Repeated query: method={} uri={} executions={} requestStatements={} sql=\"{}\"",
+                    method, uri, executions, statements.total(), sql);
+            Counter.builder("request.sql.repeated")
+                    .description("Queries a single request ran more than once")
+                    .tag("method", method)
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .increment();
+            remember(new Detection(Instant.now(), method, uri, sql, executions, statements.total()));
+        });
+    }
+
+    @ReadOperation
+    public synchronized List<Detection> recent() {
+        return new ArrayList<>(recent);
+    }
+
+    private synchronized void remember(Detection detection) {
+        if (recent.size() == retained) {
+            recent.removeFirst();
+        }
+        recent.addLast(detection);
+    }
+}
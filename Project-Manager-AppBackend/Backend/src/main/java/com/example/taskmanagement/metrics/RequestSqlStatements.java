@@ -0,0 +1,57 @@
+package com.example.taskmanagement.metrics;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.function.ObjIntConsumer;
+
+/**
+ * The SQL statements Hibernate prepared on the current thread while a request was
+ * being served. Statements issued on other threads, such as principal loads on the
+ * task executor, are not attributed to the request.
+ */
+final class RequestSqlStatements {
+
+    private static final ThreadLocal<RequestSqlStatements> CURRENT = new ThreadLocal<>();
+
+    private final Map<String, Integer> executions = new HashMap<>();
+    private int total;
+
+    private RequestSqlStatements() {
+    }
+
+    static RequestSqlStatements begin() {
+        RequestSqlStatements statements = new RequestSqlStatements();
+        CURRENT.set(statements);
+        return statements;
+    }
+
+    static void end() {
+        CURRENT.remove();
+    }
+
+    /** Called for every statement; a no-op outside a request. */
+    static void record(String sql) {
+        RequestSqlStatements statements = CURRENT.get();
+        if (statements != null) {
+            statements.total++;
+            statements.executions.merge(sql, 1, Integer::sum);
+        }
+    }
+
+    int total() {
+        return total;
+    }
+
+    /** Passes every SELECT issued at least {@code threshold} times, with its count. */
+    void forEachRepeatedQuery(int threshold, ObjIntConsumer<String> action) {
+        executions.forEach((sql, count) -> {
+            if (count >= threshold && isQuery(sql)) {
+                action.accept(sql, count);
+            }
+        });
+    }
+
+    private static boolean isQuery(String sql) {
+        return sql.stripLeading().regionMatches(true, 0, "select", 0, 6);
+    }
+}
@@ -5,6 +5,10 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -12,25 +16,48 @@ import java.util.List;
 @Data
 @Entity
 @Table(name = "projects")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "projects")
 public class Project {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "projects_seq")
+    @SequenceGenerator(name = "projects_seq", sequenceName = "projects_id_seq", allocationSize = 50)
     private Long id;
     
+    // Covers the project's own columns; task writes bump tasksVersion instead
+    @Version
+    @JsonIgnore
+    private Long version;
+    
     @Column(nullable = false)
     private String title;
     
     private String description;
     
+    // Maintained by ProjectRepository's counter updates, never by entity flushes
+    @Column(name = "total_tasks", nullable = false, updatable = false)
+    @JsonIgnore
+    private long totalTasks = 0;
+    
+    @Column(name = "completed_tasks", nullable = false, updatable = false)
+    @JsonIgnore
+    private long completedTasks = 0;
+    
+    // Aggregate version of the task list, bumped together with the counters on every task write
+    @Column(name = "tasks_version", nullable = false, updatable = false)
+    @JsonIgnore
+    private long tasksVersion = 0;
+    
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "user_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @JsonIgnore
     private User user;
     
-    @OneToMany(mappedBy = "project", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Deleted by the database with the project (ON DELETE CASCADE), never loaded for it
+    @OneToMany(mappedBy = "project")
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @JsonIgnore
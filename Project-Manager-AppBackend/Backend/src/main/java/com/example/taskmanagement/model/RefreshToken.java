@@ -0,0 +1,40 @@
+package com.example.taskmanagement.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@NoArgsConstructor
+@Entity
+@Table(name = "refresh_tokens")
+public class RefreshToken {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    // Plain column: the session is only ever read by its token, and the database
+    // removes it with the user (ON DELETE CASCADE)
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+
+    // SHA-256 of the current token
+    @Column(name = "token_hash", nullable = false, unique = true)
+    private byte[] tokenHash;
+
+    // SHA-256 of the token it replaced; presented again, it gives away a stolen token
+    @Column(name = "previous_hash", unique = true)
+    private byte[] previousHash;
+
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+
+    public RefreshToken(Long userId, byte[] tokenHash, Instant expiresAt) {
+        this.userId = userId;
+        this.tokenHash = tokenHash;
+        this.expiresAt = expiresAt;
+    }
+}
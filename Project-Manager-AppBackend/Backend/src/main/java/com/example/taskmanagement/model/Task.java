@@ -5,6 +5,8 @@ import jakarta.persistence.*;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
 import lombok.ToString;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
 
 import java.time.LocalDate;
 
@@ -16,10 +18,16 @@ import com.example.taskmanagement.model.enums.TaskStatus;
 @Table(name = "tasks")
 public class Task {
     
+    // Pooled sequence so inserts can be JDBC-batched; IDENTITY forces one round trip per row
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "tasks_seq")
+    @SequenceGenerator(name = "tasks_seq", sequenceName = "tasks_id_seq", allocationSize = 50)
     private Long id;
     
+    @Version
+    @JsonIgnore
+    private Long version;
+    
     @Column(nullable = false)
     private String title;
     
@@ -33,13 +41,25 @@ public class Task {
     @Enumerated(EnumType.STRING)
     private Priority priority;
     
+    // Derived from priority so keyset pagination can use an ordered index
+    @Column(name = "priority_rank")
+    @JsonIgnore
+    private Integer priorityRank;
+    
     @Enumerated(EnumType.STRING)
     private TaskStatus status;
     
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "project_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
     @ToString.Exclude
     @EqualsAndHashCode.Exclude
     @JsonIgnore
     private Project project;
+    
+    @PrePersist
+    @PreUpdate
+    void syncPriorityRank() {
+        priorityRank = priority != null ? priority.getRank() : null;
+    }
 }
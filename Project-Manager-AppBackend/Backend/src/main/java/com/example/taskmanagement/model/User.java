@@ -5,6 +5,10 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
@@ -18,12 +22,20 @@ import java.util.List;
 @AllArgsConstructor
 @Entity
 @Table(name = "users")
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "users")
+@NaturalIdCache(region = "users-by-email")
 public class User implements UserDetails {
     
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
     
+    // Part of the project ETag, since project responses embed the owner
+    @Version
+    @JsonIgnore
+    private Long version;
+    
+    @NaturalId(mutable = true)
     @Column(unique = true, nullable = false)
     private String email;
     
@@ -33,7 +45,8 @@ public class User implements UserDetails {
     
     private String name;
     
-    @OneToMany(mappedBy = "user", cascade = CascadeType.ALL, orphanRemoval = true)
+    // Deleted by the database with the user (ON DELETE CASCADE), never loaded for it
+    @OneToMany(mappedBy = "user")
     @JsonIgnore
     private List<Project> projects = new ArrayList<>();
     
@@ -1,8 +1,19 @@
 package com.example.taskmanagement.model.enums;
 
 public enum Priority {
-    LOW,
-    MEDIUM,
-    HIGH,
-    URGENT
+    LOW(3),
+    MEDIUM(2),
+    HIGH(1),
+    URGENT(0);
+
+    /** Sort rank persisted alongside the name, most urgent first. */
+    private final int rank;
+
+    Priority(int rank) {
+        this.rank = rank;
+    }
+
+    public int getRank() {
+        return rank;
+    }
 }
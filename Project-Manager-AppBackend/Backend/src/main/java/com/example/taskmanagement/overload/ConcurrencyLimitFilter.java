@@ -0,0 +1,131 @@
+package com.example.taskmanagement.overload;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.security.SecurityProperties;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many requests run at once at a {@link GradientLimit} learnt from their
+ * latency, and answers the excess at once with 503 and {@code Retry-After}, so a
+ * slow database costs a few fast rejections instead of a queue in Tomcat and the
+ * connection pool that makes every request slow. Cheap reads (the project list
+ * and progress) may use the whole limit; everything else only
+ * {@code standard-share} of it, so those reads keep working while heavier
+ * requests are shed.
+ * <p>
+ * Runs right after the security filter chain, so rejected requests still carry
+ * CORS headers and per-user rate limits apply first. Actuator endpoints are not
+ * limited, and requests that go asynchronous (event streams) are counted only
+ * until their first dispatch returns. Publishes {@code concurrency.limit},
+ * {@code concurrency.in.flight} and {@code concurrency.rejected}, by priority.
+ */
+@Component
+@Order(SecurityProperties.DEFAULT_FILTER_ORDER + 1)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    // Seconds; the limit adapts within a few windows
+    private static final String RETRY_AFTER = "1";
+
+    private final boolean enabled;
+    private final double standardShare;
+    private final GradientLimit limit;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Counter cheapRejected;
+    private final Counter standardRejected;
+
+    public ConcurrencyLimitFilter(
+            @Value("${concurrency-limit.enabled:true}") boolean enabled,
+            @Value("${concurrency-limit.initial-limit:20}") int initialLimit,
+            @Value("${concurrency-limit.min-limit:10}") int minLimit,
+            @Value("${concurrency-limit.max-limit:200}") int maxLimit,
+            @Value("${concurrency-limit.window:PT0.1S}") Duration window,
+            @Value("${concurrency-limit.standard-share:0.8}") double standardShare,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.standardShare = standardShare;
+        this.limit = new GradientLimit(initialLimit, minLimit, maxLimit, window.toNanos(), System.nanoTime());
+        Gauge.builder("concurrency.limit", limit, GradientLimit::limit)
+                .description("Requests allowed to run at once, adjusted from their latency")
+                .register(meterRegistry);
+        Gauge.builder("concurrency.in.flight", inFlight, AtomicInteger::get)
+                .description("Requests running under the concurrency limit")
+                .register(meterRegistry);
+        this.cheapRejected = rejectedCounter("cheap", meterRegistry);
+        this.standardRejected = rejectedCounter("standard", meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled || request.getRequestURI().startsWith("/actuator/", request.getContextPath().length());
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        boolean cheap = isCheapRead(request);
+        int allowed = limit.limit();
+        if (!cheap) {
+            allowed = Math.max(1, (int) (allowed * standardShare));
+        }
+        int running = inFlight.incrementAndGet();
+        if (running > allowed) {
+            inFlight.decrementAndGet();
+            (cheap ? cheapRejected : standardRejected).increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, RETRY_AFTER);
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Server is busy, please retry");
+            return;
+        }
+        long start = System.nanoTime();
+        boolean completed = false;
+        try {
+            filterChain.doFilter(request, response);
+            completed = !request.isAsyncStarted();
+        } finally {
+            int stillRunning = inFlight.getAndDecrement();
+            // Failures and streams say nothing about how long a request takes
+            if (completed) {
+                long now = System.nanoTime();
+                limit.record(now - start, stillRunning, now);
+            }
+        }
+    }
+
+    private boolean isCheapRead(HttpServletRequest request) {
+        if (!"GET".equals(request.getMethod())) {
+            return false;
+        }
+        String uri = request.getRequestURI();
+        int offset = request.getContextPath().length();
+        return uri.length() == offset + "/api/projects".length() && uri.startsWith("/api/projects", offset)
+                || uri.startsWith("/api/projects/", offset) && uri.endsWith("/progress");
+    }
+
+    private static Counter rejectedCounter(String priority, MeterRegistry meterRegistry) {
+        return Counter.builder("concurrency.rejected")
+                .description("Requests answered with 503 because the concurrency limit was reached")
+                .tag("priority", priority)
+                .register(meterRegistry);
+    }
+}
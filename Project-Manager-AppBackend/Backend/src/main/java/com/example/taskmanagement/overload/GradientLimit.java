@@ -0,0 +1,107 @@
+package com.example.taskmanagement.overload;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A concurrency limit that follows latency, in the manner of Netflix's gradient
+ * algorithm. Requests report their latency; every {@code window} the average is
+ * compared with a baseline, the best window of the last few seconds. While the
+ * two are within {@link #TOLERANCE} the limit grows by its square root, leaving
+ * room to find out whether more concurrency still pays; beyond it requests are
+ * queueing somewhere (the connection pool, the database) and the limit shrinks
+ * in proportion, by at most half per window.
+ * <p>
+ * The baseline has to be able to rise, or a database that got slower for good
+ * would pin the limit at its minimum; but queueing must not pass for a slower
+ * database either. So when the best window of the last few seconds was worse
+ * than the one before, the limit is halved first, and the baseline rises only if
+ * latency stays up with fewer requests running.
+ * <p>
+ * Recording a sample takes no lock: a window's sample count and latency sum are
+ * packed into one word, so the adjustment, which runs once per window in the
+ * thread that closes it, reads both at once and takes out exactly what it read.
+ */
+final class GradientLimit {
+
+    // Recent latency up to this multiple of the baseline is not queueing; requests differ a lot
+    private static final double TOLERANCE = 2.0;
+    // The baseline is the best window among the last 50 to 100 windows' worth of time
+    private static final int BASELINE_WINDOWS = 50;
+    // Share of each adjustment applied at once
+    private static final double SMOOTHING = 0.2;
+    // Fewer samples carry over into the next window
+    private static final int MIN_SAMPLES = 10;
+    // Sample count above, latency sum in microseconds below: two million samples, a hundred days of latency
+    private static final int SUM_BITS = 43;
+    private static final long SUM_MASK = (1L << SUM_BITS) - 1;
+    // Longer samples are cut down to this, so a window's sum cannot spill into its count
+    private static final long MAX_SAMPLE_MICROS = 60_000_000;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final long windowNanos;
+    private final AtomicLong window = new AtomicLong();
+    private final AtomicLong windowEnd;
+    private volatile int limit;
+    // Guarded by this
+    private double estimate;
+    private double currentMinimum = Double.MAX_VALUE;
+    private double previousMinimum = Double.MAX_VALUE;
+    private long baselineStart;
+
+    GradientLimit(int initialLimit, int minLimit, int maxLimit, long windowNanos, long nowNanos) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Concurrency limits need 1 <= min-limit <= max-limit");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.windowNanos = windowNanos;
+        this.windowEnd = new AtomicLong(nowNanos + windowNanos);
+        this.baselineStart = nowNanos;
+        this.estimate = Math.max(minLimit, Math.min(maxLimit, initialLimit));
+        this.limit = (int) estimate;
+    }
+
+    int limit() {
+        return limit;
+    }
+
+    /** A completed request's latency; {@code inFlight} is how many were still running. */
+    void record(long latencyNanos, int inFlight, long nowNanos) {
+        window.getAndAdd(1L << SUM_BITS | Math.min(latencyNanos / 1000, MAX_SAMPLE_MICROS));
+        long end = windowEnd.get();
+        if (nowNanos >= end && windowEnd.compareAndSet(end, nowNanos + windowNanos)) {
+            adjust(inFlight, nowNanos);
+        }
+    }
+
+    private synchronized void adjust(int inFlight, long nowNanos) {
+        long packed = window.get();
+        long count = packed >>> SUM_BITS;
+        if (count < MIN_SAMPLES) {
+            return;
+        }
+        // Only ever added to, so this leaves exactly the samples recorded since the read
+        window.getAndAdd(-packed);
+        double recent = (double) (packed & SUM_MASK) / count;
+        currentMinimum = Math.min(currentMinimum, recent);
+        if (nowNanos - baselineStart >= BASELINE_WINDOWS * windowNanos) {
+            if (currentMinimum > previousMinimum) {
+                estimate = Math.max(minLimit, estimate / 2);
+            }
+            previousMinimum = currentMinimum;
+            currentMinimum = Double.MAX_VALUE;
+            baselineStart = nowNanos;
+        }
+        double baseline = Math.min(previousMinimum, currentMinimum);
+        if (inFlight < estimate / 2) {
+            // Far below the limit: latency says nothing about where it should be
+            return;
+        }
+        double gradient = TOLERANCE * baseline / recent;
+        // Headroom only while nothing queues, or it would cancel out small gradients
+        double target = gradient >= 1 ? estimate + Math.sqrt(estimate) : estimate * Math.max(0.5, gradient);
+        estimate = Math.max(minLimit, Math.min(maxLimit, estimate + (target - estimate) * SMOOTHING));
+        limit = (int) estimate;
+    }
+}
@@ -1,16 +1,77 @@
 package com.example.taskmanagement.repository;
 
 import com.example.taskmanagement.model.Project;
-import com.example.taskmanagement.model.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
-    List<Project> findByUser(User user);
-    Optional<Project> findByIdAndUser(Long id, User user);
-    boolean existsByIdAndUser(Long id, User user);
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
+    // Ids come from the query cache and entities from the Project region
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_CACHEABLE, value = "true"))
+    List<Project> findByUserId(Long userId);
+
+    // Not cacheable: the query cache keeps full rows, which counter updates do not invalidate
+    @Query("SELECT p.id AS id, p.version AS version, p.tasksVersion AS tasksVersion " +
+           "FROM Project p WHERE p.user.id = :userId")
+    List<ProjectVersions> findVersionsByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT p.id AS id, p.totalTasks AS totalTasks FROM Project p WHERE p.user.id = :userId")
+    List<TaskTotal> findTaskTotalsByUserId(@Param("userId") Long userId);
+
+    // Bypasses the second-level cache, which may briefly hold pre-commit counters
+    @Query("SELECT p.id AS id, p.title AS title, p.totalTasks AS totalTasks, " +
+           "p.completedTasks AS completedTasks, p.tasksVersion AS tasksVersion " +
+           "FROM Project p WHERE p.id = :projectId")
+    Optional<ProgressSnapshot> findProgressSnapshot(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("UPDATE Project p SET " +
+           "p.totalTasks = (SELECT COUNT(t) FROM Task t WHERE t.project = p), " +
+           "p.completedTasks = (SELECT COUNT(t) FROM Task t WHERE t.project = p AND t.completed = true), " +
+           "p.tasksVersion = p.tasksVersion + 1 " +
+           "WHERE p.totalTasks <> (SELECT COUNT(t) FROM Task t WHERE t.project = p) " +
+           "OR p.completedTasks <> (SELECT COUNT(t) FROM Task t WHERE t.project = p AND t.completed = true)")
+    int reconcileTaskCounters();
+
+    /** Cursor over every project's text and owner, for building the search index. */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p.id AS id, p.title AS title, p.description AS description, p.user.id AS userId " +
+           "FROM Project p")
+    Stream<SearchRow> streamSearchRows();
+
+    @Query("SELECT COUNT(p) AS rows, COALESCE(MAX(p.id), 0) AS maxId, COALESCE(SUM(p.version), 0) AS versions " +
+           "FROM Project p")
+    TableFingerprint fingerprint();
+
+    interface ProgressSnapshot {
+        Long getId();
+        String getTitle();
+        long getTotalTasks();
+        long getCompletedTasks();
+        long getTasksVersion();
+    }
+
+    interface TaskTotal {
+        Long getId();
+        long getTotalTasks();
+    }
+
+    interface ProjectVersions {
+        Long getId();
+        Long getVersion();
+        long getTasksVersion();
+    }
 }
@@ -0,0 +1,16 @@
+package com.example.taskmanagement.repository;
+
+import java.util.Collection;
+
+public interface ProjectRepositoryCustom {
+    /**
+     * Atomically shifts a project's task counters, bumps its tasks version and
+     * evicts only that project from the second-level cache, rather than the whole
+     * region as a JPQL bulk update would. Every task write must go through here,
+     * even with zero deltas, so the tasks version tracks the task list.
+     */
+    int adjustTaskCounters(Long projectId, long totalDelta, long completedDelta);
+
+    /** Evicts projects the database deleted on its own, by cascade, from the second-level cache. */
+    void evictAll(Collection<Long> projectIds);
+}
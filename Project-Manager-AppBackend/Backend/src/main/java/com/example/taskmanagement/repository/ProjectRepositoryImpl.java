@@ -0,0 +1,54 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.Project;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import org.hibernate.query.NativeQuery;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Collection;
+
+class ProjectRepositoryImpl implements ProjectRepositoryCustom {
+
+    // Deliberately not a table name, so Hibernate invalidates no cache region on its own
+    private static final String COUNTER_QUERY_SPACE = "project_task_counters";
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public int adjustTaskCounters(Long projectId, long totalDelta, long completedDelta) {
+        int updated = entityManager.createNativeQuery(
+                        "UPDATE projects SET total_tasks = total_tasks + :totalDelta, " +
+                        "completed_tasks = completed_tasks + :completedDelta, " +
+                        "tasks_version = tasks_version + 1 WHERE id = :projectId")
+                .unwrap(NativeQuery.class)
+                .addSynchronizedQuerySpace(COUNTER_QUERY_SPACE)
+                .setParameter("totalDelta", totalDelta)
+                .setParameter("completedDelta", completedDelta)
+                .setParameter("projectId", projectId)
+                .executeUpdate();
+        evict(projectId);
+        return updated;
+    }
+
+    @Override
+    public void evictAll(Collection<Long> projectIds) {
+        projectIds.forEach(this::evict);
+    }
+
+    private void evict(Long projectId) {
+        var cache = entityManager.getEntityManagerFactory().getCache();
+        cache.evict(Project.class, projectId);
+        // Evict again after commit so a concurrent reader cannot re-cache the old counters
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(Project.class, projectId);
+                }
+            });
+        }
+    }
+}
@@ -0,0 +1,38 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.RefreshToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.Optional;
+
+@Repository
+public interface RefreshTokenRepository extends JpaRepository<RefreshToken, Long> {
+
+    Optional<RefreshToken> findByTokenHash(byte[] tokenHash);
+
+    Optional<RefreshToken> findByPreviousHash(byte[] previousHash);
+
+    /** Rotates the session's token; 0 when a concurrent refresh rotated it first. */
+    @Modifying
+    @Query("UPDATE RefreshToken r SET r.tokenHash = :next, r.previousHash = :current, r.expiresAt = :expiresAt " +
+           "WHERE r.id = :id AND r.tokenHash = :current")
+    int rotate(@Param("id") Long id, @Param("current") byte[] current, @Param("next") byte[] next,
+               @Param("expiresAt") Instant expiresAt);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") byte[] tokenHash);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.id = :id")
+    int deleteSession(@Param("id") Long id);
+
+    @Modifying
+    @Query("DELETE FROM RefreshToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,31 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.RevokedToken;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+@Repository
+public interface RevokedTokenRepository extends JpaRepository<RevokedToken, UUID> {
+
+    /** A single INSERT (save() would select first); revoking a token twice keeps the first row. */
+    @Modifying
+    @Query(value = "INSERT INTO revoked_tokens (jti, expires_at, revoked_at) " +
+                   "VALUES (:jti, :expiresAt, :revokedAt) ON CONFLICT DO NOTHING", nativeQuery = true)
+    void insertIfAbsent(@Param("jti") UUID jti, @Param("expiresAt") Instant expiresAt,
+                        @Param("revokedAt") Instant revokedAt);
+
+    List<RevokedToken> findByExpiresAtAfter(Instant now);
+
+    List<RevokedToken> findByRevokedAtGreaterThanEqual(Instant since);
+
+    @Modifying
+    @Query("DELETE FROM RevokedToken r WHERE r.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
@@ -0,0 +1,9 @@
+package com.example.taskmanagement.repository;
+
+/** The searchable text of a task or project, with the id of the user who owns it. */
+public interface SearchRow {
+    Long getId();
+    String getTitle();
+    String getDescription();
+    Long getUserId();
+}
@@ -0,0 +1,11 @@
+package com.example.taskmanagement.repository;
+
+/**
+ * Row count, highest id and sum of {@code @Version} columns of a table. Any insert,
+ * delete or versioned update changes at least one of them.
+ */
+public interface TableFingerprint {
+    long getRows();
+    long getMaxId();
+    long getVersions();
+}
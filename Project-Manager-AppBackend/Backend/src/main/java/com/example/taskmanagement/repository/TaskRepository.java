@@ -1,14 +1,99 @@
 package com.example.taskmanagement.repository;
 
-import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.dto.ProjectProgressDTO;
+import com.example.taskmanagement.dto.TaskDTO;
 import com.example.taskmanagement.model.Task;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.AvailableHints;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
-    List<Task> findByProject(Project project);
-    boolean existsByIdAndProject(Long id, Project project);
+public interface TaskRepository extends JpaRepository<Task, Long>, JpaSpecificationExecutor<Task> {
+    @Query("SELECT t FROM Task t WHERE t.id = :taskId " +
+           "AND t.project.id = :projectId AND t.project.user.id = :userId")
+    Optional<Task> findOwnedTask(@Param("taskId") Long taskId,
+                                 @Param("projectId") Long projectId,
+                                 @Param("userId") Long userId);
+
+    List<Task> findByProjectIdAndIdIn(Long projectId, Collection<Long> ids);
+
+    @Query("SELECT t.id AS id, t.completed AS completed FROM Task t " +
+           "WHERE t.project.id = :projectId AND t.id IN :ids")
+    List<CompletionState> findCompletionStates(@Param("projectId") Long projectId,
+                                               @Param("ids") Collection<Long> ids);
+
+    /** The first tasks of a project in id order, {@code page} long, for deleting it in batches. */
+    @Query("SELECT t.id AS id, t.completed AS completed FROM Task t WHERE t.project.id = :projectId ORDER BY t.id")
+    List<CompletionState> findCompletionStatesByProjectId(@Param("projectId") Long projectId, Pageable page);
+
+    @Query("SELECT t.id FROM Task t WHERE t.project.id = :projectId")
+    List<Long> findIdsByProjectId(@Param("projectId") Long projectId);
+
+    @Modifying
+    @Query("UPDATE Task t SET t.completed = true, t.version = t.version + 1 " +
+           "WHERE t.project.id = :projectId AND t.id IN :ids AND t.completed = false")
+    int completeAllInProject(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("DELETE FROM Task t WHERE t.project.id = :projectId AND t.id IN :ids")
+    int deleteAllInProject(@Param("projectId") Long projectId, @Param("ids") Collection<Long> ids);
+
+    @Query("SELECT new com.example.taskmanagement.dto.ProjectProgressDTO(" +
+           "p.id, p.title, COUNT(t.id), COALESCE(SUM(CASE WHEN t.completed = true THEN 1L ELSE 0L END), 0L)) " +
+           "FROM Project p LEFT JOIN Task t ON t.project = p " +
+           "WHERE p.user.id = :userId " +
+           "GROUP BY p.id, p.title ORDER BY p.id")
+    List<ProjectProgressDTO> summarizeProgressByUserId(@Param("userId") Long userId);
+
+    @Query("SELECT new com.example.taskmanagement.dto.ProjectProgressDTO(" +
+           "p.id, p.title, COUNT(t.id), COALESCE(SUM(CASE WHEN t.completed = true THEN 1L ELSE 0L END), 0L)) " +
+           "FROM Project p LEFT JOIN Task t ON t.project = p " +
+           "WHERE p.user.id = :userId AND p.id IN :projectIds " +
+           "GROUP BY p.id, p.title ORDER BY p.id")
+    List<ProjectProgressDTO> summarizeProgressByUserIdAndProjectIds(@Param("userId") Long userId,
+                                                                    @Param("projectIds") Collection<Long> projectIds);
+
+    /**
+     * The next {@code page} of a project's tasks after {@code afterId}, in id order, as
+     * unmanaged DTOs; served by the (project_id, id) index however far along it is.
+     */
+    @QueryHints(@QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true"))
+    @Query("SELECT new com.example.taskmanagement.dto.TaskDTO(" +
+           "t.id, t.title, t.description, t.completed, t.dueDate, t.priority, t.status) " +
+           "FROM Task t WHERE t.project.id = :projectId AND t.id > :afterId ORDER BY t.id")
+    List<TaskDTO> findChunkByProjectId(@Param("projectId") Long projectId, @Param("afterId") Long afterId,
+                                       Pageable page);
+
+    /** Cursor over every task's text and owner, for building the search index. */
+    @QueryHints({
+        @QueryHint(name = AvailableHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = AvailableHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT t.id AS id, t.title AS title, t.description AS description, t.project.user.id AS userId " +
+           "FROM Task t")
+    Stream<SearchRow> streamSearchRows();
+
+    @Query("SELECT t FROM Task t WHERE t.id IN :ids AND t.project.user.id = :userId")
+    List<Task> findOwnedByIdIn(@Param("ids") Collection<Long> ids, @Param("userId") Long userId);
+
+    @Query("SELECT COUNT(t) AS rows, COALESCE(MAX(t.id), 0) AS maxId, COALESCE(SUM(t.version), 0) AS versions " +
+           "FROM Task t")
+    TableFingerprint fingerprint();
+
+    interface CompletionState {
+        Long getId();
+        boolean isCompleted();
+    }
 }
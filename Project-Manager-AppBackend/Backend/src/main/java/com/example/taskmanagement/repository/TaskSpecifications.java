@@ -0,0 +1,98 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.dto.TaskCursor;
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.model.Task;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Expression;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Criteria building blocks for filtered, keyset-paginated task listings.
+ * Every sort order is {@code (key ASC NULLS LAST, id ASC)} so it can be served
+ * by the matching {@code (project_id, key, id)} index without an OFFSET scan.
+ */
+public final class TaskSpecifications {
+
+    private TaskSpecifications() {
+    }
+
+    public static Specification<Task> inProject(Long projectId) {
+        return (root, query, cb) -> cb.equal(root.get("project").get("id"), projectId);
+    }
+
+    public static Specification<Task> ownedBy(Long userId) {
+        return (root, query, cb) -> cb.equal(root.get("project").get("user").get("id"), userId);
+    }
+
+    public static Specification<Task> matching(TaskFilter filter) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+            if (filter.status() != null) {
+                predicates.add(cb.equal(root.get("status"), filter.status()));
+            }
+            if (filter.priority() != null) {
+                // The rank, not the name, so (project_id, priority_rank, id) serves the filter
+                predicates.add(cb.equal(root.get("priorityRank"), filter.priority().getRank()));
+            }
+            if (filter.completed() != null) {
+                // Rendered as a literal: a bound parameter would keep generic plans off the partial index
+                predicates.add(filter.completed() ? cb.isTrue(root.get("completed")) : cb.isFalse(root.get("completed")));
+            }
+            if (filter.dueFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("dueDate"), filter.dueFrom()));
+            }
+            if (filter.dueTo() != null) {
+                predicates.add(cb.lessThanOrEqualTo(root.get("dueDate"), filter.dueTo()));
+            }
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    /**
+     * Rows strictly after the cursor position in the cursor's sort order. For a cursor
+     * with a key this stops short of the trailing tasks without one: a single range
+     * that also took in the NULL keys would be an OR the index cannot seek, so those
+     * come from {@link #withoutKey}, read once this range runs out.
+     */
+    public static Specification<Task> after(TaskCursor cursor) {
+        return (root, query, cb) -> switch (cursor.sort()) {
+            case ID -> cb.greaterThan(root.get("id"), cursor.id());
+            case DUE_DATE -> afterKey(root, cb, root.get("dueDate"), cursor.dueDateKey(), cursor.id());
+            case PRIORITY -> afterKey(root, cb, root.get("priorityRank"), cursor.priorityRankKey(), cursor.id());
+        };
+    }
+
+    /** The tasks without a sort key, which come last in the keyed sort orders. */
+    public static Specification<Task> withoutKey(TaskCursor.Sort sort) {
+        return (root, query, cb) -> cb.isNull(root.get(sort.getProperty()));
+    }
+
+    public static Sort sortFor(TaskCursor.Sort sort) {
+        if (sort == TaskCursor.Sort.ID) {
+            return Sort.by(Sort.Order.asc("id"));
+        }
+        // PostgreSQL sorts NULLs last for ASC, matching the keyset predicate below
+        return Sort.by(Sort.Order.asc(sort.getProperty()), Sort.Order.asc("id"));
+    }
+
+    private static <K extends Comparable<? super K>> Predicate afterKey(
+            Root<Task> root, CriteriaBuilder cb, Expression<K> keyPath, K key, Long id) {
+        Expression<Long> idPath = root.get("id");
+        if (key == null) {
+            // Already inside the trailing NULL-key block: only ids further along remain
+            return cb.and(cb.isNull(keyPath), cb.greaterThan(idPath, id));
+        }
+        // key >= :key is the bound the (project_id, key, id) index seeks to; the rest only
+        // skips the ties already returned
+        return cb.and(
+                cb.greaterThanOrEqualTo(keyPath, key),
+                cb.or(cb.greaterThan(keyPath, key), cb.greaterThan(idPath, id)));
+    }
+}
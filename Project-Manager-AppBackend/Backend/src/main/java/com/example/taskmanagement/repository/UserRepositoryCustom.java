@@ -0,0 +1,10 @@
+package com.example.taskmanagement.repository;
+
+import com.example.taskmanagement.model.User;
+
+import java.util.Optional;
+
+public interface UserRepositoryCustom {
+    /** Natural-id lookup, served from the second-level cache when warm. */
+    Optional<User> findByEmail(String email);
+}
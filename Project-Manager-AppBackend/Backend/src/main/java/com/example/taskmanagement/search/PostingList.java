@@ -0,0 +1,101 @@
+package com.example.taskmanagement.search;
+
+import java.util.Arrays;
+
+/**
+ * Sorted, duplicate-free document keys of one term in a plain {@code long[]}: 8 bytes
+ * per posting instead of a boxed set entry. Ids are handed out in increasing order,
+ * so additions are almost always appends.
+ */
+final class PostingList {
+
+    private final String term;
+    private long[] keys;
+    private int size;
+
+    PostingList(String term) {
+        this.term = term;
+        this.keys = new long[4];
+    }
+
+    PostingList(String term, long[] keys) {
+        this.term = term;
+        this.keys = keys;
+        this.size = keys.length;
+    }
+
+    String term() {
+        return term;
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(int index) {
+        return keys[index];
+    }
+
+    void add(long key) {
+        if (size > 0 && keys[size - 1] < key) {
+            append(key);
+            return;
+        }
+        int position = Arrays.binarySearch(keys, 0, size, key);
+        if (position >= 0) {
+            return;
+        }
+        int insertAt = -position - 1;
+        ensureCapacity();
+        System.arraycopy(keys, insertAt, keys, insertAt + 1, size - insertAt);
+        keys[insertAt] = key;
+        size++;
+    }
+
+    boolean remove(long key) {
+        int position = Arrays.binarySearch(keys, 0, size, key);
+        if (position < 0) {
+            return false;
+        }
+        System.arraycopy(keys, position + 1, keys, position, size - position - 1);
+        size--;
+        if (size < keys.length / 4 && keys.length > 16) {
+            keys = Arrays.copyOf(keys, keys.length / 2);
+        }
+        return true;
+    }
+
+    /** Removes every key found in {@code sortedKeys}; returns whether there was any. */
+    boolean removeAll(long[] sortedKeys) {
+        int kept = 0;
+        for (int i = 0; i < size; i++) {
+            if (Arrays.binarySearch(sortedKeys, keys[i]) < 0) {
+                keys[kept++] = keys[i];
+            }
+        }
+        if (kept == size) {
+            return false;
+        }
+        size = kept;
+        if (size < keys.length / 4 && keys.length > 16) {
+            keys = Arrays.copyOf(keys, Math.max(16, size * 2));
+        }
+        return true;
+    }
+
+    /** A sorted copy, safe to use after the partition lock is released. */
+    long[] toArray() {
+        return Arrays.copyOf(keys, size);
+    }
+
+    private void append(long key) {
+        ensureCapacity();
+        keys[size++] = key;
+    }
+
+    private void ensureCapacity() {
+        if (size == keys.length) {
+            keys = Arrays.copyOf(keys, Math.max(4, size + (size >> 1)));
+        }
+    }
+}
@@ -0,0 +1,346 @@
+package com.example.taskmanagement.search;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Inverted index over project and task text, partitioned by owner: every lookup
+ * goes through one user's partition, so a query can only ever see that user's
+ * documents. Within a partition each term maps to a {@link PostingList} of
+ * document keys, the id shifted left by one with the low bit set for projects.
+ * <p>
+ * Each partition also keeps, per document, the posting lists it is in, so that
+ * re-indexing or removing a document touches only its own terms however large the
+ * owner's vocabulary grows. Snapshots hold the postings only; the per-document
+ * lists are rebuilt from them on load.
+ */
+class SearchIndex {
+
+    enum Kind {
+        TASK, PROJECT
+    }
+
+    private final Map<Long, Partition> partitions = new ConcurrentHashMap<>();
+    private final Map<Long, Long> projectOwners = new ConcurrentHashMap<>();
+
+    static long key(Kind kind, long id) {
+        return id << 1 | (kind == Kind.PROJECT ? 1 : 0);
+    }
+
+    static Kind kindOf(long key) {
+        return (key & 1) == 1 ? Kind.PROJECT : Kind.TASK;
+    }
+
+    static long idOf(long key) {
+        return key >>> 1;
+    }
+
+    Long ownerOf(Long projectId) {
+        return projectOwners.get(projectId);
+    }
+
+    /** For a new project or the initial build: the document is known not to be indexed yet. */
+    void addProject(long userId, long projectId, String title, String description) {
+        projectOwners.put(projectId, userId);
+        partition(userId).put(key(Kind.PROJECT, projectId), Tokenizer.terms(title, description), false);
+    }
+
+    void putTask(long userId, long taskId, String title, String description) {
+        partition(userId).put(key(Kind.TASK, taskId), Tokenizer.terms(title, description), true);
+    }
+
+    void addTask(long userId, long taskId, String title, String description) {
+        partition(userId).put(key(Kind.TASK, taskId), Tokenizer.terms(title, description), false);
+    }
+
+    /** Removes tasks with one pass over each posting list they are in, however many there are. */
+    void removeTasks(long userId, Collection<Long> taskIds) {
+        Partition partition = partitions.get(userId);
+        if (partition != null && !taskIds.isEmpty()) {
+            partition.removeAll(sortedKeys(taskIds, -1));
+        }
+    }
+
+    /** Removes a project together with its tasks, which the caller lists. */
+    void removeProject(long userId, long projectId, Collection<Long> taskIds) {
+        projectOwners.remove(projectId);
+        Partition partition = partitions.get(userId);
+        if (partition != null) {
+            partition.removeAll(sortedKeys(taskIds, projectId));
+        }
+    }
+
+    void removeUser(long userId) {
+        partitions.remove(userId);
+        projectOwners.values().removeIf(owner -> owner == userId);
+    }
+
+    /**
+     * Keys of the user's documents of one kind that contain every query term, highest
+     * id first. With {@code prefix} the last term also matches longer terms, for
+     * search-as-you-type.
+     */
+    long[] search(long userId, List<String> terms, boolean prefix, Kind kind, int limit) {
+        Partition partition = partitions.get(userId);
+        if (partition == null || terms.isEmpty()) {
+            return new long[0];
+        }
+        long[] matches = partition.match(terms, prefix);
+        long[] result = new long[Math.min(limit, matches.length)];
+        int found = 0;
+        for (int i = matches.length - 1; i >= 0 && found < result.length; i--) {
+            if (kindOf(matches[i]) == kind) {
+                result[found++] = matches[i];
+            }
+        }
+        return Arrays.copyOf(result, found);
+    }
+
+    long postingCount() {
+        return partitions.values().stream().mapToLong(Partition::postingCount).sum();
+    }
+
+    int userCount() {
+        return partitions.size();
+    }
+
+    /**
+     * Owners, then per user every term with its delta- and varint-encoded postings.
+     * Callers hold off writers, so the partitions do not change underneath.
+     */
+    void writeTo(DataOutput out) throws IOException {
+        out.writeInt(projectOwners.size());
+        for (Map.Entry<Long, Long> owner : projectOwners.entrySet()) {
+            out.writeLong(owner.getKey());
+            out.writeLong(owner.getValue());
+        }
+        out.writeInt(partitions.size());
+        for (Map.Entry<Long, Partition> partition : partitions.entrySet()) {
+            out.writeLong(partition.getKey());
+            partition.getValue().writeTo(out);
+        }
+    }
+
+    static SearchIndex readFrom(DataInput in) throws IOException {
+        SearchIndex index = new SearchIndex();
+        int owners = in.readInt();
+        for (int i = 0; i < owners; i++) {
+            index.projectOwners.put(in.readLong(), in.readLong());
+        }
+        int partitionCount = in.readInt();
+        for (int i = 0; i < partitionCount; i++) {
+            index.partitions.put(in.readLong(), Partition.readFrom(in));
+        }
+        return index;
+    }
+
+    // The tasks' keys, and the project's unless it is negative
+    private static long[] sortedKeys(Collection<Long> taskIds, long projectId) {
+        long[] keys = new long[taskIds.size() + (projectId >= 0 ? 1 : 0)];
+        int i = 0;
+        for (Long taskId : taskIds) {
+            keys[i++] = key(Kind.TASK, taskId);
+        }
+        if (projectId >= 0) {
+            keys[i] = key(Kind.PROJECT, projectId);
+        }
+        Arrays.sort(keys);
+        return keys;
+    }
+
+    private Partition partition(long userId) {
+        return partitions.computeIfAbsent(userId, id -> new Partition());
+    }
+
+    /** One user's terms; every access holds the partition's monitor. */
+    private static final class Partition {
+
+        private final TreeMap<String, PostingList> terms = new TreeMap<>();
+        // The posting lists each document is in; a list is dropped from terms once empty, so never shared stale
+        private final Map<Long, PostingList[]> documents = new HashMap<>();
+
+        synchronized void put(long key, List<String> documentTerms, boolean replace) {
+            if (replace) {
+                removeUnlocked(key);
+            }
+            if (documentTerms.isEmpty()) {
+                return;
+            }
+            PostingList[] documentPostings = new PostingList[documentTerms.size()];
+            for (int i = 0; i < documentPostings.length; i++) {
+                PostingList postings = terms.computeIfAbsent(documentTerms.get(i), PostingList::new);
+                postings.add(key);
+                documentPostings[i] = postings;
+            }
+            documents.put(key, documentPostings);
+        }
+
+        /** Each posting list the documents are in is filtered once, rather than once per document. */
+        synchronized void removeAll(long[] sortedKeys) {
+            Set<PostingList> affected = Collections.newSetFromMap(new IdentityHashMap<>());
+            for (long key : sortedKeys) {
+                PostingList[] documentPostings = documents.remove(key);
+                if (documentPostings != null) {
+                    Collections.addAll(affected, documentPostings);
+                }
+            }
+            for (PostingList postings : affected) {
+                if (postings.removeAll(sortedKeys) && postings.size() == 0) {
+                    terms.remove(postings.term());
+                }
+            }
+        }
+
+        synchronized long[] match(List<String> queryTerms, boolean prefix) {
+            List<long[]> lists = new ArrayList<>(queryTerms.size());
+            int last = queryTerms.size() - 1;
+            for (int i = 0; i <= last; i++) {
+                long[] postings = prefix && i == last ? union(prefixRange(queryTerms.get(i))) : exact(queryTerms.get(i));
+                if (postings.length == 0) {
+                    return postings;
+                }
+                lists.add(postings);
+            }
+            lists.sort((a, b) -> Integer.compare(a.length, b.length));
+            long[] result = lists.get(0);
+            for (int i = 1; i < lists.size() && result.length > 0; i++) {
+                result = intersect(result, lists.get(i));
+            }
+            return result;
+        }
+
+        synchronized long postingCount() {
+            return terms.values().stream().mapToLong(PostingList::size).sum();
+        }
+
+        synchronized void writeTo(DataOutput out) throws IOException {
+            out.writeInt(terms.size());
+            for (Map.Entry<String, PostingList> entry : terms.entrySet()) {
+                PostingList postings = entry.getValue();
+                out.writeUTF(entry.getKey());
+                writeVarLong(out, postings.size());
+                long previous = 0;
+                for (int i = 0; i < postings.size(); i++) {
+                    writeVarLong(out, postings.get(i) - previous);
+                    previous = postings.get(i);
+                }
+            }
+        }
+
+        static Partition readFrom(DataInput in) throws IOException {
+            Partition partition = new Partition();
+            Map<Long, List<PostingList>> documents = new HashMap<>();
+            int termCount = in.readInt();
+            for (int t = 0; t < termCount; t++) {
+                String term = in.readUTF();
+                long[] keys = new long[(int) readVarLong(in)];
+                long previous = 0;
+                for (int i = 0; i < keys.length; i++) {
+                    previous += readVarLong(in);
+                    keys[i] = previous;
+                }
+                PostingList postings = new PostingList(term, keys);
+                partition.terms.put(term, postings);
+                for (long key : keys) {
+                    documents.computeIfAbsent(key, k -> new ArrayList<>(4)).add(postings);
+                }
+            }
+            documents.forEach((key, postings) -> partition.documents.put(key, postings.toArray(new PostingList[0])));
+            return partition;
+        }
+
+        private void removeUnlocked(long key) {
+            PostingList[] documentPostings = documents.remove(key);
+            if (documentPostings == null) {
+                return;
+            }
+            for (PostingList postings : documentPostings) {
+                if (postings.remove(key) && postings.size() == 0) {
+                    terms.remove(postings.term());
+                }
+            }
+        }
+
+        private long[] exact(String term) {
+            PostingList postings = terms.get(term);
+            return postings != null ? postings.toArray() : new long[0];
+        }
+
+        private NavigableMap<String, PostingList> prefixRange(String prefix) {
+            return terms.subMap(prefix, true, prefix + Character.MAX_VALUE, false);
+        }
+
+        private static long[] union(NavigableMap<String, PostingList> range) {
+            if (range.size() == 1) {
+                return range.firstEntry().getValue().toArray();
+            }
+            long total = range.values().stream().mapToLong(PostingList::size).sum();
+            long[] all = new long[(int) total];
+            int offset = 0;
+            for (PostingList postings : range.values()) {
+                for (int i = 0; i < postings.size(); i++) {
+                    all[offset++] = postings.get(i);
+                }
+            }
+            Arrays.sort(all);
+            int distinct = 0;
+            for (int i = 0; i < all.length; i++) {
+                if (distinct == 0 || all[distinct - 1] != all[i]) {
+                    all[distinct++] = all[i];
+                }
+            }
+            return Arrays.copyOf(all, distinct);
+        }
+
+        private static long[] intersect(long[] a, long[] b) {
+            long[] result = new long[Math.min(a.length, b.length)];
+            int i = 0;
+            int j = 0;
+            int found = 0;
+            while (i < a.length && j < b.length) {
+                if (a[i] < b[j]) {
+                    i++;
+                } else if (a[i] > b[j]) {
+                    j++;
+                } else {
+                    result[found++] = a[i];
+                    i++;
+                    j++;
+                }
+            }
+            return Arrays.copyOf(result, found);
+        }
+    }
+
+    private static void writeVarLong(DataOutput out, long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            out.writeByte((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.writeByte((int) value);
+    }
+
+    private static long readVarLong(DataInput in) throws IOException {
+        long value = 0;
+        for (int shift = 0; ; shift += 7) {
+            byte b = in.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return value;
+            }
+        }
+    }
+}
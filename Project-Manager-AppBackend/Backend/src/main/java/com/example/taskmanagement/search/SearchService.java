@@ -0,0 +1,333 @@
+package com.example.taskmanagement.search;
+
+import com.example.taskmanagement.dto.ProjectDTO;
+import com.example.taskmanagement.dto.SearchResultDTO;
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.SearchRow;
+import com.example.taskmanagement.repository.TableFingerprint;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.search.SearchIndex.Kind;
+import com.example.taskmanagement.service.ProjectCreatedEvent;
+import com.example.taskmanagement.service.ProjectDeletedEvent;
+import com.example.taskmanagement.service.ProjectTasksChangedEvent;
+import com.example.taskmanagement.service.UserDeletedEvent;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Hibernate;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Full-text search over the current user's projects and tasks, answered from an
+ * in-memory {@link SearchIndex}. The index is loaded from its snapshot file when
+ * the snapshot still matches the database, and otherwise built by one streaming
+ * scan, in the background after startup; until then searches are unavailable.
+ * From then on it follows committed writes through the services' events, and is
+ * written back to the snapshot on shutdown.
+ * <p>
+ * Only writes made through this instance reach the index: bulk loads, direct SQL
+ * or a second instance are picked up on the next restart, when the snapshot no
+ * longer matches. Matches are loaded back from the database with an ownership
+ * condition, so a stale entry can cost a result but never leak one.
+ */
+@Slf4j
+@Service
+public class SearchService {
+
+    public static final int MAX_RESULTS = 100;
+
+    private static final int SNAPSHOT_MAGIC = 0x54534958;
+    private static final int SNAPSHOT_FORMAT = 1;
+    private static final Duration BUILD_RETRY_DELAY = Duration.ofSeconds(30);
+
+    private final TaskRepository taskRepository;
+    private final ProjectRepository projectRepository;
+    private final TransactionTemplate readOnlyTransaction;
+    private final Executor buildExecutor;
+    private final Path snapshotPath;
+    private final String databaseUrl;
+
+    private final Object lock = new Object();
+    // Updates committed before the index is ready, replayed once it is; guarded by lock
+    private List<Consumer<SearchIndex>> pending = new ArrayList<>();
+    private volatile SearchIndex index;
+
+    public SearchService(
+            TaskRepository taskRepository,
+            ProjectRepository projectRepository,
+            PlatformTransactionManager transactionManager,
+            @Qualifier("applicationTaskExecutor") Executor buildExecutor,
+            @Value("${search.snapshot-path:}") String snapshotPath,
+            @Value("${spring.datasource.url:}") String databaseUrl) {
+        this.taskRepository = taskRepository;
+        this.projectRepository = projectRepository;
+        this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+        this.readOnlyTransaction.setReadOnly(true);
+        this.buildExecutor = buildExecutor;
+        this.snapshotPath = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+        this.databaseUrl = databaseUrl;
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void initializeInBackground() {
+        buildExecutor.execute(this::initialize);
+    }
+
+    public boolean isReady() {
+        return index != null;
+    }
+
+    /**
+     * Projects and tasks containing every term of {@code query}, the last one also as
+     * a prefix unless the query ends in a separator. At most 2 statements, none for a
+     * query without terms. Empty while the index is still being built.
+     */
+    @Transactional(readOnly = true)
+    public Optional<SearchResultDTO> search(Long userId, String query, int limit) {
+        SearchIndex current = index;
+        if (current == null) {
+            return Optional.empty();
+        }
+        int size = Math.max(1, Math.min(limit, MAX_RESULTS));
+        List<String> terms = Tokenizer.terms(query);
+        boolean prefix = !query.isEmpty() && Character.isLetterOrDigit(query.charAt(query.length() - 1));
+
+        List<Long> projectIds = ids(current.search(userId, terms, prefix, Kind.PROJECT, size));
+        List<Long> taskIds = ids(current.search(userId, terms, prefix, Kind.TASK, size));
+
+        Map<Long, Project> projects = projectIds.isEmpty() ? Map.of()
+                : projectRepository.findAllById(projectIds).stream()
+                        .filter(project -> project.getUser().getId().equals(userId))
+                        .collect(Collectors.toMap(Project::getId, Function.identity()));
+        Map<Long, Task> tasks = taskIds.isEmpty() ? Map.of()
+                : taskRepository.findOwnedByIdIn(taskIds, userId).stream()
+                        .collect(Collectors.toMap(Task::getId, Function.identity()));
+
+        List<ProjectDTO> projectResults = new ArrayList<>();
+        for (Long id : projectIds) {
+            Project project = projects.get(id);
+            if (project != null) {
+                Hibernate.initialize(project.getUser());
+                projectResults.add(ProjectDTO.from(project));
+            }
+        }
+        List<SearchResultDTO.TaskHit> taskResults = new ArrayList<>();
+        for (Long id : taskIds) {
+            Task task = tasks.get(id);
+            if (task != null) {
+                taskResults.add(new SearchResultDTO.TaskHit(task.getProject().getId(), TaskDTO.from(task)));
+            }
+        }
+        return Optional.of(new SearchResultDTO(projectResults, taskResults));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTasksChanged(ProjectTasksChangedEvent event) {
+        update(index -> {
+            Long userId = index.ownerOf(event.projectId());
+            if (userId == null) {
+                log.debug("Search index has no owner for project {}", event.projectId());
+                return;
+            }
+            List<Long> deleted = new ArrayList<>();
+            for (ProjectTasksChangedEvent.TaskChange change : event.changes()) {
+                TaskDTO task = change.task();
+                switch (change.type()) {
+                    // New ids are never indexed yet, unless the initial scan already saw them
+                    case CREATED -> {
+                        if (task != null) {
+                            index.addTask(userId, change.taskId(), task.title(), task.description());
+                        }
+                    }
+                    case UPDATED -> {
+                        if (task != null) {
+                            index.putTask(userId, change.taskId(), task.title(), task.description());
+                        }
+                    }
+                    case DELETED -> deleted.add(change.taskId());
+                    case COMPLETED -> {
+                        // Completion does not change any text
+                    }
+                }
+            }
+            index.removeTasks(userId, deleted);
+        });
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProjectCreated(ProjectCreatedEvent event) {
+        update(index -> index.addProject(event.userId(), event.projectId(), event.title(), event.description()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        update(index -> index.removeProject(event.userId(), event.projectId(), event.taskIds()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDeleted(UserDeletedEvent event) {
+        update(index -> index.removeUser(event.userId()));
+    }
+
+    /** Runs after the web server has stopped, so no write can slip in between the index and its fingerprint. */
+    @PreDestroy
+    public void writeSnapshot() {
+        SearchIndex current = index;
+        if (current == null || snapshotPath == null) {
+            return;
+        }
+        try {
+            Fingerprint fingerprint = readOnlyTransaction.execute(status -> currentFingerprint());
+            Path absolute = snapshotPath.toAbsolutePath();
+            Files.createDirectories(absolute.getParent());
+            Path temporary = absolute.resolveSibling(absolute.getFileName() + ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary), 1 << 16))) {
+                out.writeInt(SNAPSHOT_MAGIC);
+                out.writeInt(SNAPSHOT_FORMAT);
+                fingerprint.writeTo(out);
+                current.writeTo(out);
+            }
+            Files.move(temporary, absolute, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            log.info("Wrote search index snapshot {} ({} bytes)", absolute, Files.size(absolute));
+        } catch (IOException | RuntimeException e) {
+            log.warn("Could not write search index snapshot {}", snapshotPath, e);
+        }
+    }
+
+    private void update(Consumer<SearchIndex> change) {
+        synchronized (lock) {
+            if (index == null) {
+                pending.add(change);
+                return;
+            }
+        }
+        change.accept(index);
+    }
+
+    private void initialize() {
+        while (true) {
+            try {
+                long started = System.nanoTime();
+                SearchIndex loaded = loadSnapshot();
+                SearchIndex ready = loaded != null ? loaded : build();
+                synchronized (lock) {
+                    pending.forEach(change -> change.accept(ready));
+                    pending = null;
+                    index = ready;
+                }
+                log.info("Search index ready from {} in {} ms: {} users, {} postings",
+                        loaded != null ? "snapshot" : "a full scan",
+                        Duration.ofNanos(System.nanoTime() - started).toMillis(),
+                        ready.userCount(), ready.postingCount());
+                return;
+            } catch (RuntimeException e) {
+                log.error("Building the search index failed, retrying in {}s", BUILD_RETRY_DELAY.toSeconds(), e);
+            }
+            try {
+                Thread.sleep(BUILD_RETRY_DELAY.toMillis());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private SearchIndex build() {
+        SearchIndex built = new SearchIndex();
+        readOnlyTransaction.executeWithoutResult(status -> {
+            try (Stream<SearchRow> projects = projectRepository.streamSearchRows()) {
+                projects.forEach(row -> built.addProject(row.getUserId(), row.getId(), row.getTitle(), row.getDescription()));
+            }
+            try (Stream<SearchRow> tasks = taskRepository.streamSearchRows()) {
+                tasks.forEach(row -> built.addTask(row.getUserId(), row.getId(), row.getTitle(), row.getDescription()));
+            }
+        });
+        return built;
+    }
+
+    /** The snapshot's index, or {@code null} when there is none or the data has changed since it was written. */
+    private SearchIndex loadSnapshot() {
+        if (snapshotPath == null || !Files.isRegularFile(snapshotPath)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(snapshotPath), 1 << 16))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != SNAPSHOT_FORMAT) {
+                log.info("Ignoring search index snapshot {} in an unknown format", snapshotPath);
+                return null;
+            }
+            Fingerprint written = Fingerprint.readFrom(in);
+            Fingerprint current = readOnlyTransaction.execute(status -> currentFingerprint());
+            if (!written.equals(current)) {
+                log.info("Search index snapshot {} is out of date, rebuilding", snapshotPath);
+                return null;
+            }
+            return SearchIndex.readFrom(in);
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable search index snapshot {}: {}", snapshotPath, e.toString());
+            return null;
+        }
+    }
+
+    private Fingerprint currentFingerprint() {
+        return new Fingerprint(databaseUrl, taskRepository.fingerprint(), projectRepository.fingerprint());
+    }
+
+    private static List<Long> ids(long[] keys) {
+        return Arrays.stream(keys).map(SearchIndex::idOf).boxed().toList();
+    }
+
+    /** Identifies the data a snapshot was written from. */
+    private record Fingerprint(String databaseUrl, long tasks, long maxTaskId, long taskVersions,
+                               long projects, long maxProjectId, long projectVersions) {
+
+        Fingerprint(String databaseUrl, TableFingerprint tasks, TableFingerprint projects) {
+            this(databaseUrl, tasks.getRows(), tasks.getMaxId(), tasks.getVersions(),
+                    projects.getRows(), projects.getMaxId(), projects.getVersions());
+        }
+
+        void writeTo(DataOutputStream out) throws IOException {
+            out.writeUTF(databaseUrl);
+            for (long value : new long[] {tasks, maxTaskId, taskVersions, projects, maxProjectId, projectVersions}) {
+                out.writeLong(value);
+            }
+        }
+
+        static Fingerprint readFrom(DataInputStream in) throws IOException {
+            return new Fingerprint(in.readUTF(), in.readLong(), in.readLong(), in.readLong(),
+                    in.readLong(), in.readLong(), in.readLong());
+        }
+    }
+}
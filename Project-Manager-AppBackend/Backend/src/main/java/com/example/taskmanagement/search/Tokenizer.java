@@ -0,0 +1,64 @@
+package com.example.taskmanagement.search;
+
+import java.text.Normalizer;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Splits text into lower-case terms on anything that is not a letter or digit,
+ * with accents removed, so "Café-Menü" and "cafe menu" produce the same terms.
+ */
+final class Tokenizer {
+
+    /** Longer runs are cut, which keeps snapshot entries and prefix scans bounded. */
+    static final int MAX_TERM_LENGTH = 64;
+
+    private Tokenizer() {
+    }
+
+    /** Distinct terms in order of first appearance; empty for {@code null}. */
+    static List<String> terms(String text) {
+        if (text == null || text.isEmpty()) {
+            return List.of();
+        }
+        Set<String> terms = new LinkedHashSet<>();
+        collect(normalize(text), terms);
+        return List.copyOf(terms);
+    }
+
+    static List<String> terms(String first, String second) {
+        Set<String> terms = new LinkedHashSet<>();
+        if (first != null) {
+            collect(normalize(first), terms);
+        }
+        if (second != null) {
+            collect(normalize(second), terms);
+        }
+        return List.copyOf(terms);
+    }
+
+    private static void collect(String text, Set<String> terms) {
+        int start = -1;
+        for (int i = 0; i <= text.length(); i++) {
+            boolean wordChar = i < text.length() && Character.isLetterOrDigit(text.charAt(i));
+            if (wordChar && start < 0) {
+                start = i;
+            } else if (!wordChar && start >= 0) {
+                terms.add(text.substring(start, Math.min(i, start + MAX_TERM_LENGTH)));
+                start = -1;
+            }
+        }
+    }
+
+    private static String normalize(String text) {
+        String lower = text.toLowerCase(Locale.ROOT);
+        for (int i = 0; i < lower.length(); i++) {
+            if (lower.charAt(i) > 0x7F) {
+                return Normalizer.normalize(lower, Normalizer.Form.NFD).replaceAll("\\p{M}+", "");
+            }
+        }
+        return lower;
+    }
+}
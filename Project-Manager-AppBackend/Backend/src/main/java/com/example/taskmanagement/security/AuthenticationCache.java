@@ -0,0 +1,155 @@
+package com.example.taskmanagement.security;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.jsonwebtoken.Claims;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UserDetailsService;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * Caches verified JWTs (keyed by a SHA-256 of the token, expiring with the
+ * token's {@code exp} claim) and the principals they resolve to, so a repeat
+ * request with the same token needs neither a signature check nor a query.
+ * Revocation is checked on every request, cached or not, against the in-memory
+ * {@link TokenRevocationList}.
+ */
+@Component
+public class AuthenticationCache {
+
+    private final JwtTokenProvider tokenProvider;
+    private final UserDetailsService userDetailsService;
+    private final TokenRevocationList revocationList;
+    private final Cache<String, VerifiedToken> tokens;
+    private final AsyncCache<String, UserDetails> principals;
+
+    public AuthenticationCache(
+            JwtTokenProvider tokenProvider,
+            UserDetailsService userDetailsService,
+            TokenRevocationList revocationList,
+            @Value("${security.auth-cache.max-tokens:100000}") long maxTokens,
+            @Value("${security.auth-cache.max-principals:10000}") long maxPrincipals,
+            @Value("${security.auth-cache.principal-ttl:PT5M}") Duration principalTtl,
+            @Qualifier("applicationTaskExecutor") Executor loadExecutor) {
+        this.tokenProvider = tokenProvider;
+        this.userDetailsService = userDetailsService;
+        this.revocationList = revocationList;
+        this.tokens = Caffeine.newBuilder()
+                .maximumSize(maxTokens)
+                .expireAfter(new UntilTokenExpiry())
+                .build();
+        // Async so the JDBC load runs outside the cache's compute lock, which would
+        // otherwise pin the carrier of a virtual request thread
+        this.principals = Caffeine.newBuilder()
+                .maximumSize(maxPrincipals)
+                .expireAfterWrite(principalTtl)
+                .executor(loadExecutor)
+                .buildAsync();
+    }
+
+    /**
+     * The claims of a valid token, verifying it only on a cache miss.
+     * Returns {@code null} for invalid, expired or revoked tokens.
+     */
+    public VerifiedToken resolve(String token) {
+        String key = hash(token);
+        VerifiedToken verified = tokens.getIfPresent(key);
+        if (verified == null) {
+            Claims claims = tokenProvider.parseClaims(token);
+            if (claims == null || claims.getSubject() == null || claims.getExpiration() == null) {
+                return null;
+            }
+            verified = new VerifiedToken(claims.getSubject(),
+                    claims.get(JwtTokenProvider.USER_ID_CLAIM, Long.class),
+                    JwtTokenProvider.tokenId(claims),
+                    claims.getExpiration().getTime());
+            tokens.put(key, verified);
+        }
+        return revocationList.isRevoked(verified.tokenId(), verified.expiresAtMillis()) ? null : verified;
+    }
+
+    public UserDetails loadPrincipal(String username) {
+        CompletableFuture<UserDetails> principal = principals.get(username,
+                (key, executor) -> CompletableFuture.supplyAsync(() -> userDetailsService.loadUserByUsername(key), executor));
+        try {
+            return principal.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Drops the cached principal once the surrounding transaction commits, so a
+     * concurrent request cannot re-cache the pre-update row in between.
+     */
+    public void evictUser(String username) {
+        if (username == null) {
+            return;
+        }
+        principals.synchronous().invalidate(username);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    principals.synchronous().invalidate(username);
+                }
+            });
+        }
+    }
+
+    private static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /** {@code userId} and {@code tokenId} are null for tokens issued before they carried them. */
+    public record VerifiedToken(String username, Long userId, UUID tokenId, long expiresAtMillis) {
+
+        /** Whether the token belongs to the account the principal was loaded from. */
+        public boolean issuedTo(UserDetails principal) {
+            return userId == null || !(principal instanceof UserPrincipal user) || userId.equals(user.getId());
+        }
+    }
+
+    private static final class UntilTokenExpiry implements Expiry<String, VerifiedToken> {
+
+        @Override
+        public long expireAfterCreate(String key, VerifiedToken value, long currentTime) {
+            long remainingMillis = value.expiresAtMillis() - System.currentTimeMillis();
+            return Duration.ofMillis(Math.max(remainingMillis, 0)).toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String key, VerifiedToken value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -6,23 +6,23 @@ import jakarta.annotation.PostConstruct;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 import org.springframework.util.StringUtils;
 
 import java.security.Key;
-import java.util.Arrays;
 import java.util.Date;
-import java.util.List;
-import java.util.stream.Collectors;
+import java.util.UUID;
 
 @Slf4j
 @Component
 public class JwtTokenProvider {
 
+    // Id of the user the token was issued to: after an account is deleted and its email
+    // registered again, the old account's tokens must not sign in as the new one
+    public static final String USER_ID_CLAIM = "uid";
+
     @Value("${jwt.secret}")
     private String jwtSecret;
 
@@ -31,22 +31,42 @@ public class JwtTokenProvider {
 
     private Key key;
 
+    // Immutable and thread-safe once built, so one instance serves every request
+    private JwtParser parser;
+
     @PostConstruct
     public void init() {
         this.key = Keys.hmacShaKeyFor(jwtSecret.getBytes());
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(key)
+                .build();
     }
 
     public String generateToken(Authentication authentication) {
         UserDetails userPrincipal = (UserDetails) authentication.getPrincipal();
+        Long userId = userPrincipal instanceof UserPrincipal principal ? principal.getId() : null;
+        return generateToken(userId, userPrincipal.getUsername());
+    }
+
+    /** An access token for the user; {@code userId} may be null where it is not known. */
+    public String generateToken(Long userId, String username) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationInMs);
 
-        return Jwts.builder()
-                .setSubject(userPrincipal.getUsername())
+        JwtBuilder builder = Jwts.builder()
+                // jti, the key TokenRevocationList revokes by
+                .setId(UUID.randomUUID().toString())
+                .setSubject(username)
                 .setIssuedAt(now)
-                .setExpiration(expiryDate)
-                .signWith(key)
-                .compact();
+                .setExpiration(expiryDate);
+        if (userId != null) {
+            builder.claim(USER_ID_CLAIM, userId);
+        }
+        return builder.signWith(key).compact();
+    }
+
+    public long getExpirationInMs() {
+        return jwtExpirationInMs;
     }
 
     public String resolveToken(HttpServletRequest request) {
@@ -57,43 +77,33 @@ public class JwtTokenProvider {
         return null;
     }
 
-    public Authentication getAuthentication(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-
-        String username = claims.getSubject();
-        List<SimpleGrantedAuthority> authorities = Arrays.stream(claims.get("auth")
-                        .toString()
-                        .split(","))
-                .filter(auth -> !auth.trim().isEmpty())
-                .map(SimpleGrantedAuthority::new)
-                .collect(Collectors.toList());
-
-        return new UsernamePasswordAuthenticationToken(username, token, authorities);
+    /** The token's jti, or {@code null} for tokens issued before they carried one. */
+    public static UUID tokenId(Claims claims) {
+        try {
+            return claims.getId() != null ? UUID.fromString(claims.getId()) : null;
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
     }
 
     public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-        return claims.getSubject();
+        return parser.parseClaimsJws(token).getBody().getSubject();
     }
 
     public boolean validateToken(String authToken) {
+        return parseClaims(authToken) != null;
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns the claims,
+     * or {@code null} if the token is not valid.
+     */
+    public Claims parseClaims(String authToken) {
         try {
-            Jwts.parserBuilder()
-                .setSigningKey(key)
-                .build()
-                .parseClaimsJws(authToken);
-            return true;
-        } catch (JwtException ex) {
+            return parser.parseClaimsJws(authToken).getBody();
+        } catch (JwtException | IllegalArgumentException ex) {
             log.error("Invalid JWT token: {}", ex.getMessage());
         }
-        return false;
+        return null;
     }
 }
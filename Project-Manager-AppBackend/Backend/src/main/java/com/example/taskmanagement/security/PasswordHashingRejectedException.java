@@ -0,0 +1,12 @@
+package com.example.taskmanagement.security;
+
+/**
+ * Thrown by {@link BoundedPasswordEncoder} when no hashing capacity is left; the
+ * request should be answered with 503 and retried later.
+ */
+public class PasswordHashingRejectedException extends RuntimeException {
+
+    public PasswordHashingRejectedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,145 @@
+package com.example.taskmanagement.security;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.lang.NonNull;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Per-client request budgets, applied right after {@link JwtAuthenticationFilter}.
+ * Authenticated requests are counted against their user, anything else against
+ * the remote address. Reads (GET, HEAD, OPTIONS), writes and {@code /auth/**} each
+ * have their own {@link RateLimiter}, so a client flooding one cannot starve
+ * itself of the others.
+ * <p>
+ * Every response carries {@code RateLimit-Limit}, {@code RateLimit-Remaining} and
+ * {@code RateLimit-Reset} (seconds until the bucket is full); a request over budget
+ * gets 429 with {@code Retry-After}. Rejections are counted in
+ * {@code rate.limit.rejected}, by budget, and clients that had to be forgotten
+ * early for lack of room in {@code rate.limit.evicted}.
+ */
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    private static final String LIMIT_HEADER = "RateLimit-Limit";
+    private static final String REMAINING_HEADER = "RateLimit-Remaining";
+    private static final String RESET_HEADER = "RateLimit-Reset";
+    private static final long MICROS_PER_SECOND = 1_000_000;
+
+    private final boolean enabled;
+    private final Budget reads;
+    private final Budget writes;
+    private final Budget auth;
+    // nanoTime may be negative; the limiters' clock starts at zero
+    private final long origin = System.nanoTime();
+
+    public RateLimitFilter(
+            @Value("${security.rate-limit.enabled:true}") boolean enabled,
+            @Value("${security.rate-limit.reads.capacity:200}") int readCapacity,
+            @Value("${security.rate-limit.reads.per-second:50}") double readsPerSecond,
+            @Value("${security.rate-limit.writes.capacity:60}") int writeCapacity,
+            @Value("${security.rate-limit.writes.per-second:20}") double writesPerSecond,
+            @Value("${security.rate-limit.auth.capacity:20}") int authCapacity,
+            @Value("${security.rate-limit.auth.per-second:5}") double authPerSecond,
+            @Value("${security.rate-limit.max-clients:100000}") int maxClients,
+            MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.reads = new Budget("read", new RateLimiter(readCapacity, readsPerSecond, maxClients), meterRegistry);
+        this.writes = new Budget("write", new RateLimiter(writeCapacity, writesPerSecond, maxClients), meterRegistry);
+        this.auth = new Budget("auth", new RateLimiter(authCapacity, authPerSecond, maxClients), meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(@NonNull HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(
+            @NonNull HttpServletRequest request,
+            @NonNull HttpServletResponse response,
+            @NonNull FilterChain filterChain
+    ) throws ServletException, IOException {
+        Budget budget = budgetFor(request);
+        RateLimiter limiter = budget.limiter;
+        long result = limiter.acquire(clientKey(request), (System.nanoTime() - origin) / 1000);
+        response.setHeader(LIMIT_HEADER, budget.limitHeader);
+        if (result < 0) {
+            budget.rejected.increment();
+            response.setHeader(REMAINING_HEADER, "0");
+            response.setHeader(RESET_HEADER, seconds(limiter.untilFullAfterRejection(-result)));
+            response.setHeader(HttpHeaders.RETRY_AFTER, seconds(-result));
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setContentType(MediaType.TEXT_PLAIN_VALUE);
+            response.getWriter().write("Too many requests, please retry later");
+            return;
+        }
+        response.setHeader(REMAINING_HEADER, Integer.toString(limiter.remaining(result)));
+        response.setHeader(RESET_HEADER, seconds(result));
+        filterChain.doFilter(request, response);
+    }
+
+    private Budget budgetFor(HttpServletRequest request) {
+        if (request.getRequestURI().startsWith("/auth/", request.getContextPath().length())) {
+            return auth;
+        }
+        return switch (request.getMethod()) {
+            case "GET", "HEAD", "OPTIONS" -> reads;
+            default -> writes;
+        };
+    }
+
+    /** The user's id, or a 64-bit hash of the remote address with the sign bit set so the two never meet. */
+    private static long clientKey(HttpServletRequest request) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal
+                && principal.getId() != null) {
+            return principal.getId();
+        }
+        String address = request.getRemoteAddr();
+        long hash = 0xcbf29ce484222325L;
+        for (int i = 0; i < address.length(); i++) {
+            hash = (hash ^ address.charAt(i)) * 0x100000001b3L;
+        }
+        return hash | Long.MIN_VALUE;
+    }
+
+    // Rounded up, so a client waiting that long is never refused again
+    private static String seconds(long micros) {
+        return Long.toString((micros + MICROS_PER_SECOND - 1) / MICROS_PER_SECOND);
+    }
+
+    private static final class Budget {
+
+        private final RateLimiter limiter;
+        private final String limitHeader;
+        private final Counter rejected;
+
+        Budget(String name, RateLimiter limiter, MeterRegistry meterRegistry) {
+            this.limiter = limiter;
+            this.limitHeader = Integer.toString(limiter.capacity());
+            this.rejected = Counter.builder("rate.limit.rejected")
+                    .description("Requests refused with 429 because the client's budget was used up")
+                    .tag("budget", name)
+                    .register(meterRegistry);
+            FunctionCounter.builder("rate.limit.evicted", limiter, RateLimiter::evictions)
+                    .description("Clients forgotten before their bucket had refilled; raise max-clients if it grows")
+                    .tag("budget", name)
+                    .register(meterRegistry);
+        }
+    }
+}
@@ -0,0 +1,199 @@
+package com.example.taskmanagement.security;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * One token-bucket budget, tracked per client key, safe for concurrent use
+ * without locks. A bucket is a single word holding the time at which it will be
+ * full again (the generic cell rate algorithm), so taking a token is one
+ * compare-and-set.
+ * <p>
+ * Buckets sit in a fixed open-addressed table of {@code (key, state)} pairs,
+ * striped into lines of four that share a cache line; a client may live in one
+ * of two lines, so a lookup usually costs a single cache miss. A bucket that has
+ * refilled is no different from a new one, which makes its slot free again: idle
+ * clients are evicted without losing anything and without a sweeper. When both
+ * of a new client's lines are busy, it takes over the bucket closest to full
+ * together with whatever that bucket still owes, so being evicted never hands a
+ * client a full bucket it would not have had; {@link #evictions()} counts those.
+ * <p>
+ * Adding a client is the only part that locks, on one of a few stripes by key, so
+ * that two requests of the same new client share one bucket. While a slot changes
+ * hands its state is {@code LOCKED}, and lookups read a slot's state before its key
+ * and take the token with a compare-and-set on that state, which fails if the slot
+ * changed hands in between. A slot's time only ever increases, even across owners,
+ * so that compare-and-set cannot be fooled by a new owner whose tag collides.
+ */
+final class RateLimiter {
+
+    private static final int SLOTS_PER_LINE = 4;
+    private static final int TIME_BITS = 48;
+    private static final long TIME_MASK = (1L << TIME_BITS) - 1;
+    // No client's tag: a slot in this state is being handed over and has no owner
+    private static final long LOCKED = -1L;
+    private static final int INSERT_STRIPES = 64;
+    // Never a result of acquire, whose rejections are at least one microsecond away
+    private static final long NOT_FOUND = Long.MIN_VALUE;
+
+    private final int capacity;
+    private final long intervalMicros;
+    private final long burstMicros;
+    // Per slot: the client key (0 when never used), then its tag and full-at time
+    private final AtomicLongArray slots;
+    private final int lineMask;
+    private final LongAdder evictions = new LongAdder();
+    private final Object[] insertLocks = new Object[INSERT_STRIPES];
+
+    RateLimiter(int capacity, double perSecond, int maxKeys) {
+        if (capacity < 1 || perSecond <= 0) {
+            throw new IllegalArgumentException("A rate limit needs a capacity of at least 1 and a positive rate");
+        }
+        this.capacity = capacity;
+        this.intervalMicros = Math.max(1, Math.round(1_000_000 / perSecond));
+        this.burstMicros = intervalMicros * capacity;
+        if (burstMicros > TIME_MASK / 2) {
+            throw new IllegalArgumentException("A rate limit cannot take longer than a few years to refill");
+        }
+        // Half full at maxKeys clients, so a client's two lines rarely both fill up
+        int lines = Integer.highestOneBit(Math.max(1, Math.min(maxKeys, 1 << 26) * 2 / SLOTS_PER_LINE - 1)) << 1;
+        this.slots = new AtomicLongArray(lines * SLOTS_PER_LINE * 2);
+        this.lineMask = lines - 1;
+        for (int i = 0; i < insertLocks.length; i++) {
+            insertLocks[i] = new Object();
+        }
+    }
+
+    /**
+     * Takes a token for {@code key} (never 0) at {@code nowMicros} (a monotonic clock
+     * that is never negative). Returns how long the bucket needs to be full again, in
+     * microseconds, or, when it is empty, minus the wait until the next token.
+     */
+    long acquire(long key, long nowMicros) {
+        long hash = mix(key);
+        long tag = hash >>> TIME_BITS << TIME_BITS;
+        if (tag == (LOCKED & ~TIME_MASK)) {
+            tag ^= 1L << TIME_BITS;
+        }
+        int first = (int) hash & lineMask;
+        int second = (int) (hash >>> 24) & lineMask;
+        for (;;) {
+            long result = tryAcquire(first, key, tag, nowMicros);
+            if (result == NOT_FOUND) {
+                result = tryAcquire(second, key, tag, nowMicros);
+            }
+            if (result != NOT_FOUND) {
+                return result;
+            }
+            synchronized (insertLocks[(int) (hash >>> 40) & (INSERT_STRIPES - 1)]) {
+                // Another request of this client may have added it while this one waited
+                if (find(first, key, tag) < 0 && find(second, key, tag) < 0) {
+                    return insert(first, second, key, tag, nowMicros);
+                }
+            }
+        }
+    }
+
+    int capacity() {
+        return capacity;
+    }
+
+    /** Tokens left after an {@link #acquire} that returned {@code untilFull}. */
+    int remaining(long untilFull) {
+        return (int) ((burstMicros - untilFull) / intervalMicros);
+    }
+
+    /** How long a bucket that just refused a request with {@code wait} needs to be full again. */
+    long untilFullAfterRejection(long wait) {
+        return wait + burstMicros - intervalMicros;
+    }
+
+    /** Buckets taken over by a new client before they had refilled. */
+    long evictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * Takes a token from the client's bucket if it is in {@code line}, as {@link #acquire}
+     * reports it; {@link #NOT_FOUND} when it is not there.
+     */
+    private long tryAcquire(int line, long key, long tag, long nowMicros) {
+        for (int i = line * SLOTS_PER_LINE * 2, end = i + SLOTS_PER_LINE * 2; i < end; i += 2) {
+            for (;;) {
+                // State before key: the key only changes while the state is LOCKED, and the
+                // compare-and-set below fails if the slot changed hands after this read
+                long state = slots.get(i + 1);
+                if ((state & ~TIME_MASK) != tag || slots.get(i) != key) {
+                    break;
+                }
+                long next = Math.max(state & TIME_MASK, nowMicros) + intervalMicros;
+                long untilFull = next - nowMicros;
+                if (untilFull > burstMicros) {
+                    return -(untilFull - burstMicros);
+                }
+                if (slots.compareAndSet(i + 1, state, tag | next)) {
+                    return untilFull;
+                }
+            }
+        }
+        return NOT_FOUND;
+    }
+
+    /** Hands the bucket closest to full in the client's two lines over to it; under its insert lock. */
+    private long insert(int first, int second, long key, long tag, long nowMicros) {
+        for (;;) {
+            int victim = -1;
+            long victimState = LOCKED;
+            for (int line = first, pass = 0; pass < 2; line = second, pass++) {
+                for (int i = line * SLOTS_PER_LINE * 2, end = i + SLOTS_PER_LINE * 2; i < end; i += 2) {
+                    long state = slots.get(i + 1);
+                    if (state != LOCKED && (victim < 0 || (state & TIME_MASK) < (victimState & TIME_MASK))) {
+                        victim = i;
+                        victimState = state;
+                    }
+                }
+            }
+            if (victim < 0) {
+                // Every slot is being handed to some other client right now
+                Thread.onSpinWait();
+                continue;
+            }
+            long victimTime = victimState & TIME_MASK;
+            long next = Math.max(victimTime, nowMicros) + intervalMicros;
+            long untilFull = next - nowMicros;
+            if (untilFull > burstMicros) {
+                // Even the fullest bucket has nothing left; the client is refused without taking it over
+                return -(untilFull - burstMicros);
+            }
+            if (!slots.compareAndSet(victim + 1, victimState, LOCKED)) {
+                continue;
+            }
+            slots.set(victim, key);
+            slots.set(victim + 1, tag | next);
+            if (victimTime > nowMicros) {
+                evictions.increment();
+            }
+            return untilFull;
+        }
+    }
+
+    private int find(int line, long key, long tag) {
+        for (int i = line * SLOTS_PER_LINE * 2, end = i + SLOTS_PER_LINE * 2; i < end; i += 2) {
+            long state = slots.get(i + 1);
+            if ((state & ~TIME_MASK) == tag && slots.get(i) == key) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    // MurmurHash3's 64-bit finalizer
+    private static long mix(long value) {
+        value ^= value >>> 33;
+        value *= 0xff51afd7ed558ccdL;
+        value ^= value >>> 33;
+        value *= 0xc4ceb9fe1a85ec53L;
+        value ^= value >>> 33;
+        return value;
+    }
+}
@@ -0,0 +1,158 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.model.RefreshToken;
+import com.example.taskmanagement.repository.RefreshTokenRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Opaque refresh tokens, rotated on every use. A token is 32 random bytes; only its
+ * SHA-256 is stored, in one row per session found through a unique index, so a
+ * refresh is one indexed lookup plus the rotating update. Presenting the token a
+ * session was last rotated away from means two parties hold it: the session is
+ * ended and both have to sign in again.
+ * <p>
+ * The session behind each token this node issued is also kept in memory for
+ * {@code security.refresh-token.cache-ttl}, a little longer than an access token
+ * lives, so the refresh that usually follows needs only the rotating update. That
+ * update is conditional on the current token, so an entry made stale by another
+ * node or a logout cannot rotate anything; such a refresh falls back to the lookup.
+ */
+@Slf4j
+@Service
+public class RefreshTokenService {
+
+    /** The session's user and the token that replaces the one presented. */
+    public record Rotation(Long userId, String refreshToken) {
+    }
+
+    /** What a refresh needs of a session, keyed by the hash of its current token. */
+    private record Session(Long id, Long userId, Instant expiresAt) {
+    }
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final RefreshTokenRepository refreshTokenRepository;
+    private final Duration ttl;
+    private final Cache<String, Session> sessions;
+    private final SecureRandom random = new SecureRandom();
+
+    public RefreshTokenService(
+            RefreshTokenRepository refreshTokenRepository,
+            @Value("${security.refresh-token.ttl:P14D}") Duration ttl,
+            @Value("${security.refresh-token.cache-size:100000}") long cacheSize,
+            @Value("${security.refresh-token.cache-ttl:PT30M}") Duration cacheTtl) {
+        this.refreshTokenRepository = refreshTokenRepository;
+        this.ttl = ttl;
+        this.sessions = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    /** Starts a session for the user and returns its first refresh token. */
+    @Transactional
+    public String issue(Long userId) {
+        String token = newToken();
+        byte[] tokenHash = hash(token);
+        Instant expiresAt = Instant.now().plus(ttl);
+        RefreshToken session = refreshTokenRepository.save(new RefreshToken(userId, tokenHash, expiresAt));
+        sessions.put(key(tokenHash), new Session(session.getId(), userId, expiresAt));
+        return token;
+    }
+
+    /** Empty for unknown, expired, already rotated or replayed tokens. */
+    @Transactional
+    public Optional<Rotation> rotate(String token) {
+        if (token == null || token.isEmpty()) {
+            return Optional.empty();
+        }
+        byte[] current = hash(token);
+        Session cached = sessions.getIfPresent(key(current));
+        if (cached != null) {
+            sessions.invalidate(key(current));
+            if (!cached.expiresAt().isAfter(Instant.now())) {
+                return Optional.empty();
+            }
+            Optional<Rotation> rotation = rotate(cached.id(), cached.userId(), current);
+            if (rotation.isPresent()) {
+                return rotation;
+            }
+            // Rotated elsewhere or ended since it was cached; the lookup tells a replay apart
+        }
+        Optional<RefreshToken> session = refreshTokenRepository.findByTokenHash(current);
+        if (session.isEmpty()) {
+            refreshTokenRepository.findByPreviousHash(current).ifPresent(replayed -> {
+                log.warn("Replayed refresh token for user {}, ending the session", replayed.getUserId());
+                refreshTokenRepository.deleteSession(replayed.getId());
+            });
+            return Optional.empty();
+        }
+        RefreshToken refreshToken = session.get();
+        if (!refreshToken.getExpiresAt().isAfter(Instant.now())) {
+            return Optional.empty();
+        }
+        return rotate(refreshToken.getId(), refreshToken.getUserId(), current);
+    }
+
+    /** Ends the session the token belongs to, if it is still current. */
+    @Transactional
+    public void revoke(String token) {
+        if (token != null && !token.isEmpty()) {
+            byte[] tokenHash = hash(token);
+            sessions.invalidate(key(tokenHash));
+            refreshTokenRepository.deleteByTokenHash(tokenHash);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${security.refresh-token.purge-interval:PT1H}")
+    @Transactional
+    public void purge() {
+        int deleted = refreshTokenRepository.deleteExpired(Instant.now());
+        log.debug("Purged {} expired refresh session(s)", deleted);
+    }
+
+    private Optional<Rotation> rotate(Long sessionId, Long userId, byte[] current) {
+        String next = newToken();
+        byte[] nextHash = hash(next);
+        Instant expiresAt = Instant.now().plus(ttl);
+        if (refreshTokenRepository.rotate(sessionId, current, nextHash, expiresAt) == 0) {
+            return Optional.empty();
+        }
+        sessions.put(key(nextHash), new Session(sessionId, userId, expiresAt));
+        return Optional.of(new Rotation(userId, next));
+    }
+
+    private String newToken() {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes);
+    }
+
+    private static String key(byte[] tokenHash) {
+        return HexFormat.of().formatHex(tokenHash);
+    }
+
+    private static byte[] hash(String token) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+}
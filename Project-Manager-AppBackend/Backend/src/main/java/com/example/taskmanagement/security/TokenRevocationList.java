@@ -0,0 +1,141 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.model.RevokedToken;
+import com.example.taskmanagement.repository.RevokedTokenRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Access tokens revoked before they expire, by {@code jti}. The
+ * {@code revoked_tokens} table is the record all nodes share; every node mirrors
+ * its live rows in memory, grouped into one generation per hour of token expiry.
+ * A generation holds a Bloom filter, which answers "not revoked" for nearly every
+ * token without further work, and the exact set of ids it is backed by. A token's
+ * own expiry picks its generation, and a generation is dropped whole once the hour
+ * is over, so memory follows the revocations of one token lifetime.
+ * <p>
+ * Lookups take no locks. Revocations made on other nodes are picked up by
+ * {@link #sync()}, re-reading a short overlap to tolerate clock skew and late
+ * commits.
+ */
+@Slf4j
+@Component
+public class TokenRevocationList {
+
+    private static final long GENERATION_MILLIS = Duration.ofHours(1).toMillis();
+    private static final double FALSE_POSITIVE_RATE = 0.001;
+    private static final Duration SYNC_OVERLAP = Duration.ofMinutes(1);
+
+    private final RevokedTokenRepository revokedTokenRepository;
+    private final int expectedPerGeneration;
+    private final Map<Long, Generation> generations = new ConcurrentHashMap<>();
+    private final Counter exactChecks;
+    private volatile Instant syncedUpTo;
+
+    public TokenRevocationList(
+            RevokedTokenRepository revokedTokenRepository,
+            @Value("${security.revocation.expected-per-hour:50000}") int expectedPerGeneration,
+            MeterRegistry meterRegistry) {
+        this.revokedTokenRepository = revokedTokenRepository;
+        this.expectedPerGeneration = expectedPerGeneration;
+        this.exactChecks = Counter.builder("token.revocation.exact.checks")
+                .description("Token checks the Bloom filter could not answer alone")
+                .register(meterRegistry);
+        Gauge.builder("token.revocation.live", this, list -> list.liveCount())
+                .description("Revoked tokens that have not expired yet")
+                .register(meterRegistry);
+    }
+
+    /** Before the first request, so no revoked token gets through while the list fills. */
+    @PostConstruct
+    public void load() {
+        Instant now = Instant.now();
+        List<RevokedToken> live = revokedTokenRepository.findByExpiresAtAfter(now);
+        live.forEach(row -> add(row.getJti(), row.getExpiresAt()));
+        syncedUpTo = now;
+        log.info("Loaded {} token revocation(s)", live.size());
+    }
+
+    /** Whether a token with this id and expiry was revoked; {@code jti} null (older tokens) never is. */
+    public boolean isRevoked(UUID jti, long expiresAtMillis) {
+        if (jti == null) {
+            return false;
+        }
+        Generation generation = generations.get(Math.floorDiv(expiresAtMillis, GENERATION_MILLIS));
+        if (generation == null || !generation.filter.mightContain(jti)) {
+            return false;
+        }
+        exactChecks.increment();
+        return generation.ids.contains(jti);
+    }
+
+    @Transactional
+    public void revoke(UUID jti, Instant expiresAt) {
+        if (jti == null || !expiresAt.isAfter(Instant.now())) {
+            return;
+        }
+        revokedTokenRepository.insertIfAbsent(jti, expiresAt, Instant.now());
+        add(jti, expiresAt);
+    }
+
+    @Scheduled(fixedDelayString = "${security.revocation.sync-interval:PT10S}")
+    public void sync() {
+        Instant since = syncedUpTo.minus(SYNC_OVERLAP);
+        Instant latest = syncedUpTo;
+        Instant now = Instant.now();
+        for (RevokedToken row : revokedTokenRepository.findByRevokedAtGreaterThanEqual(since)) {
+            if (row.getExpiresAt().isAfter(now)) {
+                add(row.getJti(), row.getExpiresAt());
+            }
+            if (row.getRevokedAt().isAfter(latest)) {
+                latest = row.getRevokedAt();
+            }
+        }
+        syncedUpTo = latest;
+    }
+
+    /** Every node runs it; the DELETE is idempotent. */
+    @Scheduled(fixedDelayString = "${security.revocation.purge-interval:PT1H}")
+    @Transactional
+    public void purge() {
+        long current = Math.floorDiv(System.currentTimeMillis(), GENERATION_MILLIS);
+        generations.keySet().removeIf(generation -> generation < current);
+        int deleted = revokedTokenRepository.deleteExpired(Instant.now());
+        log.debug("Purged {} expired token revocation(s)", deleted);
+    }
+
+    void add(UUID jti, Instant expiresAt) {
+        Generation generation = generations.computeIfAbsent(
+                Math.floorDiv(expiresAt.toEpochMilli(), GENERATION_MILLIS),
+                key -> new Generation(new BloomFilter(expectedPerGeneration, FALSE_POSITIVE_RATE)));
+        // The exact set first, so a filter hit always finds the id
+        generation.ids.add(jti);
+        generation.filter.add(jti);
+    }
+
+    private long liveCount() {
+        return generations.values().stream().mapToLong(generation -> generation.ids.size()).sum();
+    }
+
+    private record Generation(BloomFilter filter, Set<UUID> ids) {
+
+        Generation(BloomFilter filter) {
+            this(filter, ConcurrentHashMap.newKeySet());
+        }
+    }
+}
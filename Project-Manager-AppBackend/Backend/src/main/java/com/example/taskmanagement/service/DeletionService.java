@@ -0,0 +1,254 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticationCache;
+import com.example.taskmanagement.service.ProjectTasksChangedEvent.TaskChange;
+import com.example.taskmanagement.service.ProjectTasksChangedEvent.Type;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Deletes projects and whole accounts with set-based statements. The project or
+ * user row goes in a single DELETE and the schema's ON DELETE CASCADE removes the
+ * projects, tasks and refresh tokens underneath, where Hibernate's cascades used
+ * to load every child and delete it by id.
+ * <p>
+ * That one statement still deletes every row underneath in a single transaction,
+ * so anything with more than {@code deletion.purge-threshold} tasks is purged in
+ * the background instead: {@code deletion.batch-size} tasks at a time, each batch
+ * its own short transaction that keeps the project's counters, event streams and
+ * the search index in step, then the row itself as above. Until the purge is done
+ * the project or account is still there, with fewer and fewer tasks. A purge that
+ * fails stops where it is; deleting again carries on from there.
+ * <p>
+ * Purges run on their own {@code deletion.purge-threads}, apart from the executor
+ * that loads principals and builds the search index, with at most
+ * {@code deletion.purge-queue-size} waiting; past that a deletion is refused with
+ * {@link Outcome#BUSY} and nothing is deleted.
+ */
+@Slf4j
+@Service
+public class DeletionService {
+
+    public enum Outcome {
+        DELETED, PURGING, BUSY, NOT_FOUND
+    }
+
+    /** Retry-After, in seconds, for a {@link Outcome#BUSY} deletion: a queued purge takes a while to start. */
+    public static final String RETRY_AFTER_PURGES = "30";
+
+    private final UserRepository userRepository;
+    private final ProjectRepository projectRepository;
+    private final TaskRepository taskRepository;
+    private final ProjectService projectService;
+    private final AuthenticationCache authenticationCache;
+    private final ApplicationEventPublisher eventPublisher;
+    private final TransactionTemplate transaction;
+    private final ExecutorService purgeExecutor;
+    private final long purgeThreshold;
+    private final int batchSize;
+    // Purges under way, so that deleting again does not start a second one
+    private final Set<Long> purgingProjects = ConcurrentHashMap.newKeySet();
+    private final Set<Long> purgingUsers = ConcurrentHashMap.newKeySet();
+
+    public DeletionService(
+            UserRepository userRepository,
+            ProjectRepository projectRepository,
+            TaskRepository taskRepository,
+            ProjectService projectService,
+            AuthenticationCache authenticationCache,
+            ApplicationEventPublisher eventPublisher,
+            PlatformTransactionManager transactionManager,
+            @Value("${deletion.purge-threshold:10000}") long purgeThreshold,
+            @Value("${deletion.batch-size:1000}") int batchSize,
+            @Value("${deletion.purge-threads:2}") int purgeThreads,
+            @Value("${deletion.purge-queue-size:100}") int purgeQueueSize) {
+        this.userRepository = userRepository;
+        this.projectRepository = projectRepository;
+        this.taskRepository = taskRepository;
+        this.projectService = projectService;
+        this.authenticationCache = authenticationCache;
+        this.eventPublisher = eventPublisher;
+        this.transaction = new TransactionTemplate(transactionManager);
+        this.purgeExecutor = new ThreadPoolExecutor(purgeThreads, purgeThreads, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(purgeQueueSize), new CustomizableThreadFactory("purge-"));
+        this.purgeThreshold = purgeThreshold;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * 2 statements: the project's task ids, for the search index, and the delete; the
+     * project itself comes from the second-level cache. {@link Outcome#PURGING} when it
+     * is too large for that and is being purged in the background, {@link Outcome#BUSY}
+     * when too many purges are waiting already.
+     */
+    public Outcome deleteProject(Long projectId, Long userId) {
+        Outcome outcome = transaction.execute(status -> {
+            Optional<Project> project = projectService.getProject(projectId, userId);
+            if (project.isEmpty()) {
+                return Outcome.NOT_FOUND;
+            }
+            if (project.get().getTotalTasks() > purgeThreshold) {
+                return Outcome.PURGING;
+            }
+            deleteProjectNow(project.get(), userId);
+            return Outcome.DELETED;
+        });
+        if (outcome == Outcome.PURGING
+                && !startPurge(purgingProjects, "project", projectId, () -> purgeProject(projectId, userId))) {
+            return Outcome.BUSY;
+        }
+        return outcome;
+    }
+
+    /**
+     * 2 statements: the task totals of the user's projects and the delete; the user
+     * comes from the second-level cache. {@link Outcome#PURGING} when the account is
+     * too large for that and is being purged in the background, {@link Outcome#BUSY}
+     * when too many purges are waiting already.
+     */
+    public Outcome deleteUser(String email) {
+        if (email == null) {
+            return Outcome.NOT_FOUND;
+        }
+        Deletion deletion = transaction.execute(status -> {
+            Optional<User> user = userRepository.findByEmail(email);
+            if (user.isEmpty()) {
+                return new Deletion(Outcome.NOT_FOUND, null);
+            }
+            List<ProjectRepository.TaskTotal> projects = projectRepository.findTaskTotalsByUserId(user.get().getId());
+            long tasks = projects.stream().mapToLong(ProjectRepository.TaskTotal::getTotalTasks).sum();
+            if (tasks > purgeThreshold) {
+                return new Deletion(Outcome.PURGING, user.get().getId());
+            }
+            deleteUserNow(user.get(), projects);
+            return new Deletion(Outcome.DELETED, user.get().getId());
+        });
+        if (deletion.outcome == Outcome.PURGING
+                && !startPurge(purgingUsers, "user", deletion.userId, () -> purgeUser(deletion.userId, email))) {
+            return Outcome.BUSY;
+        }
+        return deletion.outcome;
+    }
+
+    /** Purges still queued are dropped; deleting again starts them over where they stopped. */
+    @PreDestroy
+    public void shutdown() {
+        purgeExecutor.shutdownNow();
+    }
+
+    /** False when the queue is full; a purge of the same id already under way counts as started. */
+    private boolean startPurge(Set<Long> purging, String kind, Long id, Runnable purge) {
+        if (!purging.add(id)) {
+            return true;
+        }
+        try {
+            purgeExecutor.execute(purge);
+            return true;
+        } catch (RejectedExecutionException e) {
+            purging.remove(id);
+            log.warn("Purge queue full, refusing to delete {} {}", kind, id);
+            return false;
+        }
+    }
+
+    private void deleteProjectNow(Project project, Long userId) {
+        List<Long> taskIds = taskRepository.findIdsByProjectId(project.getId());
+        projectRepository.delete(project);
+        eventPublisher.publishEvent(new ProjectDeletedEvent(project.getId(), userId, taskIds));
+    }
+
+    private void deleteUserNow(User user, List<ProjectRepository.TaskTotal> projects) {
+        List<Long> projectIds = projects.stream().map(ProjectRepository.TaskTotal::getId).toList();
+        userRepository.delete(user);
+        // The database deleted the projects, so Hibernate does not know to evict them
+        projectRepository.evictAll(projectIds);
+        authenticationCache.evictUser(user.getEmail());
+        eventPublisher.publishEvent(new UserDeletedEvent(user.getId(), projectIds));
+    }
+
+    private void purgeProject(Long projectId, Long userId) {
+        try {
+            long started = System.nanoTime();
+            long tasks = purgeTasks(projectId);
+            transaction.executeWithoutResult(status -> projectService.getProject(projectId, userId)
+                    .ifPresent(project -> deleteProjectNow(project, userId)));
+            log.info("Purged project {} and {} tasks in {} ms", projectId, tasks,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (RuntimeException e) {
+            log.error("Purging project {} failed", projectId, e);
+        } finally {
+            purgingProjects.remove(projectId);
+        }
+    }
+
+    private void purgeUser(Long userId, String email) {
+        try {
+            long started = System.nanoTime();
+            long tasks = 0;
+            List<ProjectRepository.TaskTotal> projects =
+                    transaction.execute(status -> projectRepository.findTaskTotalsByUserId(userId));
+            for (ProjectRepository.TaskTotal project : projects) {
+                tasks += purgeTasks(project.getId());
+            }
+            transaction.executeWithoutResult(status -> userRepository.findByEmail(email)
+                    .filter(user -> user.getId().equals(userId))
+                    .ifPresent(user -> deleteUserNow(user, projectRepository.findTaskTotalsByUserId(userId))));
+            log.info("Purged user {}, {} projects and {} tasks in {} ms", userId, projects.size(), tasks,
+                    Duration.ofNanos(System.nanoTime() - started).toMillis());
+        } catch (RuntimeException e) {
+            log.error("Purging user {} failed", userId, e);
+        } finally {
+            purgingUsers.remove(userId);
+        }
+    }
+
+    /** Deletes the project's tasks a batch per transaction, as a batch delete through the API would. */
+    private long purgeTasks(Long projectId) {
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = transaction.execute(status -> {
+                List<TaskRepository.CompletionState> batch =
+                        taskRepository.findCompletionStatesByProjectId(projectId, PageRequest.of(0, batchSize));
+                if (batch.isEmpty()) {
+                    return 0;
+                }
+                List<Long> ids = batch.stream().map(TaskRepository.CompletionState::getId).toList();
+                long completed = batch.stream().filter(TaskRepository.CompletionState::isCompleted).count();
+                taskRepository.deleteAllInProject(projectId, ids);
+                projectRepository.adjustTaskCounters(projectId, -ids.size(), -completed);
+                eventPublisher.publishEvent(new ProjectTasksChangedEvent(projectId,
+                        ids.stream().map(id -> new TaskChange(Type.DELETED, id, null)).toList()));
+                return ids.size();
+            });
+            purged += deleted;
+        } while (deleted == batchSize);
+        return purged;
+    }
+
+    private record Deletion(Outcome outcome, Long userId) {
+    }
+}
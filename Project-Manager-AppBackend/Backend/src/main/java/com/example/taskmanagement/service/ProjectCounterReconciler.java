@@ -0,0 +1,40 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.repository.ProjectRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Recomputes the materialized task counters on {@code projects} from the
+ * {@code tasks} table and repairs any rows that have drifted.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class ProjectCounterReconciler {
+
+    private final ProjectRepository projectRepository;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void reconcileOnStartup() {
+        reconcile();
+    }
+
+    @Scheduled(cron = "${progress.reconciliation.cron:0 0 3 * * *}")
+    @Transactional
+    public int reconcile() {
+        int repaired = projectRepository.reconcileTaskCounters();
+        if (repaired > 0) {
+            log.warn("Repaired task counters on {} drifted project(s)", repaired);
+        } else {
+            log.debug("Project task counters are consistent");
+        }
+        return repaired;
+    }
+}
@@ -0,0 +1,8 @@
+package com.example.taskmanagement.service;
+
+/**
+ * Published by {@link ProjectService} when a project is created. Listeners that
+ * keep derived state must only act after the commit.
+ */
+public record ProjectCreatedEvent(Long projectId, Long userId, String title, String description) {
+}
@@ -0,0 +1,10 @@
+package com.example.taskmanagement.service;
+
+import java.util.List;
+
+/**
+ * Published by {@link DeletionService} when a project and, by cascade, the tasks
+ * listed are deleted. Listeners that keep derived state must only act after the commit.
+ */
+public record ProjectDeletedEvent(Long projectId, Long userId, List<Long> taskIds) {
+}
@@ -0,0 +1,343 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.repository.ProjectRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-project registry of server-sent event subscribers. Committed task changes are
+ * handed to a single publisher thread, which reads the project's counters and
+ * serializes the frames once, then offers the message to every subscriber's bounded
+ * buffer without blocking; a small sender pool drains the buffers onto the async
+ * responses. A subscriber whose buffer overflows is too slow to keep up and is
+ * disconnected rather than allowed to hold back writers or other subscribers.
+ * Idle connections hold no thread.
+ * <p>
+ * Writes to a response block, so a client that stops reading holds a sender until
+ * the container's write timeout. One whose write takes longer than
+ * {@code events.send-timeout} is dropped and its sender replaced in the pool, up to
+ * {@code events.max-sender-threads}, so the others keep being served meanwhile.
+ * Emitters lock around every send, so only the subscriber's own sender ends its
+ * stream: any other thread that did could block behind that write.
+ */
+@Slf4j
+@Service
+public class ProjectEventBroadcaster {
+
+    private static final long NOT_SENDING = Long.MIN_VALUE;
+    private static final long GIVEN_UP = Long.MAX_VALUE;
+
+    private final ProjectRepository projectRepository;
+    private final ObjectMapper objectMapper;
+    private final int bufferSize;
+    private final Duration timeout;
+    private final Duration sendTimeout;
+    private final int maxSenderThreads;
+    private final Map<Long, Set<Subscriber>> subscribers = new ConcurrentHashMap<>();
+    private final ExecutorService publisher;
+    private final ThreadPoolExecutor senders;
+    // Guards resizing the sender pool and Subscriber.replaced
+    private final Object senderPoolLock = new Object();
+
+    public ProjectEventBroadcaster(
+            ProjectRepository projectRepository,
+            ObjectMapper objectMapper,
+            @Value("${events.buffer-size:64}") int bufferSize,
+            @Value("${events.timeout:PT30M}") Duration timeout,
+            @Value("${events.publish-queue-size:10000}") int publishQueueSize,
+            @Value("${events.sender-threads:4}") int senderThreads,
+            @Value("${events.send-timeout:PT5S}") Duration sendTimeout,
+            @Value("${events.max-sender-threads:32}") int maxSenderThreads) {
+        this.projectRepository = projectRepository;
+        this.objectMapper = objectMapper;
+        this.bufferSize = bufferSize;
+        this.timeout = timeout;
+        this.sendTimeout = sendTimeout;
+        this.maxSenderThreads = Math.max(senderThreads, maxSenderThreads);
+        this.publisher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(publishQueueSize), new CustomizableThreadFactory("sse-publish-"));
+        this.senders = new ThreadPoolExecutor(senderThreads, senderThreads, 0, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), new CustomizableThreadFactory("sse-send-"));
+    }
+
+    /** Registers a new stream for a project whose ownership the caller has already checked. */
+    public SseEmitter subscribe(Long projectId) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(projectId, emitter, bufferSize);
+        subscribers.computeIfAbsent(projectId, id -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        emitter.onCompletion(() -> remove(subscriber));
+        emitter.onTimeout(() -> remove(subscriber));
+        emitter.onError(e -> remove(subscriber));
+        // Flushes the response headers so the client sees the stream open immediately
+        offer(subscriber, SseEmitter.event().comment("connected").build());
+        return emitter;
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.values().stream().mapToInt(Set::size).sum();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onTasksChanged(ProjectTasksChangedEvent event) {
+        if (!subscribers.containsKey(event.projectId())) {
+            return;
+        }
+        try {
+            publisher.execute(() -> publish(event));
+        } catch (RejectedExecutionException e) {
+            log.warn("Event publish queue is full, dropping changes of project {}", event.projectId());
+        }
+    }
+
+    /** Ends the project's streams, once the changes queued before are published. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onProjectDeleted(ProjectDeletedEvent event) {
+        closeStreams(List.of(event.projectId()));
+    }
+
+    /** Ends the streams of every project the user had. */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onUserDeleted(UserDeletedEvent event) {
+        closeStreams(event.projectIds());
+    }
+
+    @Scheduled(fixedDelayString = "${events.heartbeat-interval:PT15S}")
+    public void sendHeartbeats() {
+        Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+        for (Set<Subscriber> projectSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : projectSubscribers) {
+                offer(subscriber, heartbeat);
+            }
+        }
+    }
+
+    /** Drops every subscriber whose current write has taken longer than the send timeout. */
+    @Scheduled(fixedDelay = 1, timeUnit = TimeUnit.SECONDS)
+    public void dropStalledSubscribers() {
+        long now = System.nanoTime();
+        for (Set<Subscriber> projectSubscribers : subscribers.values()) {
+            for (Subscriber subscriber : projectSubscribers) {
+                long started = subscriber.sendStarted.get();
+                if (started != NOT_SENDING && started != GIVEN_UP && now - started > sendTimeout.toNanos()) {
+                    giveUp(subscriber, started);
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        publisher.shutdownNow();
+        senders.shutdownNow();
+        // A stalled write would hold up the shutdown; the container ends that response anyway
+        subscribers.values().forEach(projectSubscribers -> projectSubscribers.stream()
+                .filter(s -> s.sendStarted.get() == NOT_SENDING)
+                .forEach(s -> s.emitter.complete()));
+        subscribers.clear();
+    }
+
+    private void closeStreams(List<Long> projectIds) {
+        List<Long> streamed = projectIds.stream().filter(subscribers::containsKey).toList();
+        if (streamed.isEmpty()) {
+            return;
+        }
+        try {
+            publisher.execute(() -> streamed.forEach(projectId -> {
+                Set<Subscriber> projectSubscribers = subscribers.remove(projectId);
+                if (projectSubscribers != null) {
+                    projectSubscribers.forEach(this::close);
+                }
+            }));
+        } catch (RejectedExecutionException e) {
+            log.warn("Event publish queue is full, leaving the streams of deleted projects {} open", streamed);
+        }
+    }
+
+    private void publish(ProjectTasksChangedEvent event) {
+        Set<Subscriber> projectSubscribers = subscribers.get(event.projectId());
+        if (projectSubscribers == null || projectSubscribers.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> message = new LinkedHashSet<>();
+        for (ProjectTasksChangedEvent.TaskChange change : event.changes()) {
+            message.addAll(SseEmitter.event()
+                    .name(change.type().getEventName())
+                    .data(toJson(change.task() != null ? change.task() : Map.of("id", change.taskId())))
+                    .build());
+        }
+        // Progress carries the tasks version as its id, so clients can ignore reordered frames
+        projectRepository.findProgressSnapshot(event.projectId()).ifPresent(snapshot -> message.addAll(SseEmitter.event()
+                .name("progress")
+                .id(String.valueOf(snapshot.getTasksVersion()))
+                .data(toJson(ProjectProgressService.toProgress(snapshot.getId(), snapshot.getTitle(),
+                        snapshot.getTotalTasks(), snapshot.getCompletedTasks())))
+                .build()));
+        for (Subscriber subscriber : projectSubscribers) {
+            offer(subscriber, message);
+        }
+    }
+
+    /** One whole message per buffer slot, so a large batch cannot overflow a buffer on its own. */
+    private void offer(Subscriber subscriber, Set<DataWithMediaType> message) {
+        if (subscriber.closed) {
+            return;
+        }
+        if (!subscriber.buffer.offer(message)) {
+            log.debug("Dropping slow event subscriber of project {}", subscriber.projectId);
+            close(subscriber);
+            return;
+        }
+        scheduleDrain(subscriber);
+    }
+
+    /** Unregisters the subscriber and has its sender end the stream after any write in progress. */
+    private void close(Subscriber subscriber) {
+        remove(subscriber);
+        subscriber.closed = true;
+        subscriber.buffer.clear();
+        scheduleDrain(subscriber);
+    }
+
+    private void scheduleDrain(Subscriber subscriber) {
+        if (subscriber.draining.compareAndSet(false, true)) {
+            senders.execute(() -> drain(subscriber));
+        }
+    }
+
+    private String toJson(Object value) {
+        try {
+            return objectMapper.writeValueAsString(value);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Could not serialize event payload", e);
+        }
+    }
+
+    /** Returns leaving {@code draining} set once the subscriber is done with, so no drain runs again. */
+    private void drain(Subscriber subscriber) {
+        do {
+            Set<DataWithMediaType> message;
+            while ((message = subscriber.buffer.poll()) != null) {
+                if (!send(subscriber, message)) {
+                    return;
+                }
+            }
+            if (subscriber.closed) {
+                subscriber.emitter.complete();
+                return;
+            }
+            subscriber.draining.set(false);
+            // A frame offered, or a close, after the last check but before the flag cleared would be stranded
+        } while ((!subscriber.buffer.isEmpty() || subscriber.closed) && subscriber.draining.compareAndSet(false, true));
+    }
+
+    /** Returns whether the subscriber is still there to be sent more. */
+    private boolean send(Subscriber subscriber, Set<DataWithMediaType> message) {
+        long started = System.nanoTime();
+        subscriber.sendStarted.set(started);
+        boolean sent = true;
+        try {
+            subscriber.emitter.send(message);
+        } catch (IOException | IllegalStateException e) {
+            // The container ends the response on its own
+            sent = false;
+        }
+        if (!subscriber.sendStarted.compareAndSet(started, NOT_SENDING)) {
+            // Given up on while writing: the subscriber is gone and this thread was replaced
+            releaseReplacedSender(subscriber);
+            if (sent) {
+                subscriber.emitter.complete();
+            }
+            return false;
+        }
+        if (!sent) {
+            remove(subscriber);
+            subscriber.closed = true;
+            subscriber.buffer.clear();
+        }
+        return sent;
+    }
+
+    private void giveUp(Subscriber subscriber, long sendStarted) {
+        synchronized (senderPoolLock) {
+            if (!subscriber.sendStarted.compareAndSet(sendStarted, GIVEN_UP)) {
+                return;
+            }
+            remove(subscriber);
+            subscriber.closed = true;
+            subscriber.buffer.clear();
+            int size = senders.getMaximumPoolSize();
+            if (size < maxSenderThreads) {
+                senders.setMaximumPoolSize(size + 1);
+                senders.setCorePoolSize(size + 1);
+                subscriber.replaced = true;
+                log.debug("Dropping stalled event subscriber of project {}; {} sender threads",
+                        subscriber.projectId, size + 1);
+            } else {
+                log.warn("Dropping stalled event subscriber of project {}; all {} sender threads in use",
+                        subscriber.projectId, size);
+            }
+        }
+    }
+
+    private void releaseReplacedSender(Subscriber subscriber) {
+        synchronized (senderPoolLock) {
+            if (subscriber.replaced) {
+                int size = senders.getCorePoolSize() - 1;
+                senders.setCorePoolSize(size);
+                senders.setMaximumPoolSize(size);
+            }
+        }
+    }
+
+    private void remove(Subscriber subscriber) {
+        subscribers.computeIfPresent(subscriber.projectId, (id, projectSubscribers) -> {
+            projectSubscribers.remove(subscriber);
+            return projectSubscribers.isEmpty() ? null : projectSubscribers;
+        });
+    }
+
+    private static final class Subscriber {
+        private final Long projectId;
+        private final SseEmitter emitter;
+        private final Queue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean draining = new AtomicBoolean();
+        // When the write in progress started, NOT_SENDING, or GIVEN_UP by dropStalledSubscribers
+        private final AtomicLong sendStarted = new AtomicLong(NOT_SENDING);
+        private volatile boolean closed;
+        // Whether its stalled sender got a replacement in the pool; guarded by senderPoolLock
+        private boolean replaced;
+
+        private Subscriber(Long projectId, SseEmitter emitter, int bufferSize) {
+            this.projectId = projectId;
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(bufferSize);
+        }
+    }
+}
@@ -1,14 +1,13 @@
 package com.example.taskmanagement.service;
 
+import com.example.taskmanagement.dto.ProjectProgressDTO;
 import com.example.taskmanagement.model.Project;
-import com.example.taskmanagement.model.Task;
-import com.example.taskmanagement.repository.ProjectRepository;
 import com.example.taskmanagement.repository.TaskRepository;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -19,34 +18,45 @@ import org.springframework.lang.NonNull;
 @RequiredArgsConstructor
 public class ProjectProgressService {
 
-    private final ProjectRepository projectRepository;
     private final TaskRepository taskRepository;
-    private final ProjectService projectService;
 
-    @Transactional(readOnly = true)
-    public Map<String, Object> calculateProjectProgress(@NonNull Long projectId, @NonNull String userEmail) {
-        Objects.requireNonNull(projectId, "Project ID cannot be null");
-        Objects.requireNonNull(userEmail, "User email cannot be null");
-
-        // Verify project ownership
-        if (!projectService.isProjectOwnedByUser(projectId, userEmail)) {
-            throw new EntityNotFoundException("Project not found");
-        }
+    /**
+     * The progress body from a project already loaded, e.g. for its entity tag, so the
+     * two come from the same row. Counters are maintained by TaskService, so no task
+     * rows are read.
+     */
+    public static Map<String, Object> progressOf(@NonNull Project project) {
+        return toProgress(project.getId(), project.getTitle(), project.getTotalTasks(), project.getCompletedTasks());
+    }
 
-        Project project = projectRepository.getReferenceById(projectId);
-        List<Task> tasks = taskRepository.findByProject(project);
-        
-        long totalTasks = tasks.size();
-        long completedTasks = tasks.stream().filter(Task::isCompleted).count();
+    /** The body of {@code GET /api/projects/{id}/progress}, also pushed on the project event stream. */
+    static Map<String, Object> toProgress(Long projectId, String projectTitle, long totalTasks, long completedTasks) {
         int progressPercentage = totalTasks > 0 ? (int) ((completedTasks * 100) / totalTasks) : 0;
 
         Map<String, Object> progress = new HashMap<>();
         progress.put("projectId", projectId);
-        progress.put("projectTitle", project.getTitle());
+        progress.put("projectTitle", projectTitle);
         progress.put("totalTasks", totalTasks);
         progress.put("completedTasks", completedTasks);
         progress.put("progressPercentage", progressPercentage);
         
         return progress;
     }
+
+    /**
+     * Progress of all the user's projects, or only of {@code projectIds} when given,
+     * computed by a single grouped query. Projects not owned by the user are skipped.
+     */
+    @Transactional(readOnly = true)
+    public List<ProjectProgressDTO> getProjectsProgress(@NonNull Long userId, Collection<Long> projectIds) {
+        Objects.requireNonNull(userId, "User ID cannot be null");
+
+        if (projectIds == null) {
+            return taskRepository.summarizeProgressByUserId(userId);
+        }
+        if (projectIds.isEmpty()) {
+            return List.of();
+        }
+        return taskRepository.summarizeProgressByUserIdAndProjectIds(userId, projectIds);
+    }
 }
@@ -1,48 +1,84 @@
 package com.example.taskmanagement.service;
 
 import com.example.taskmanagement.model.Project;
-import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.ProjectRepository;
-import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.hibernate.Hibernate;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.util.List;
 import java.util.Optional;
 
+/**
+ * Project access scoped to the owner's id. Projects and their owners live in the
+ * second-level cache, so lookups by id cost at most one statement and none when warm.
+ */
 @Service
 @RequiredArgsConstructor
 public class ProjectService {
 
     private final ProjectRepository projectRepository;
     private final UserService userService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * At most 2 statements: the cached id query with entities from the Project region,
+     * and the owner row when it is not cached.
+     */
     @Transactional(readOnly = true)
-    public List<Project> getUserProjects(String userEmail) {
-        return userService.findByEmail(userEmail)
-                .map(user -> projectRepository.findByUser(user))
-                .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + userEmail));
+    public List<Project> getUserProjects(Long userId) {
+        List<Project> projects = projectRepository.findByUserId(userId);
+        projects.forEach(ProjectService::initializeOwner);
+        return projects;
     }
 
+    /** 1 statement: the id, version and tasks version of each of the user's projects. */
     @Transactional(readOnly = true)
-    public Optional<Project> getProject(Long projectId, String userEmail) {
-        return userService.findByEmail(userEmail)
-                .flatMap(user -> projectRepository.findByIdAndUser(projectId, user));
+    public List<ProjectRepository.ProjectVersions> getUserProjectVersions(Long userId) {
+        return projectRepository.findVersionsByUserId(userId);
     }
 
+    /** At most 1 statement: primary-key load, ownership compared on the cached foreign key. */
+    @Transactional(readOnly = true)
+    public Optional<Project> getProject(Long projectId, Long userId) {
+        return projectRepository.findById(projectId)
+                .filter(project -> isOwnedBy(project, userId));
+    }
+
+    /** As {@link #getProject}, plus the owner row when it is not cached, for callers that render it. */
+    @Transactional(readOnly = true)
+    public Optional<Project> getProjectWithOwner(Long projectId, Long userId) {
+        Optional<Project> project = getProject(projectId, userId);
+        project.ifPresent(ProjectService::initializeOwner);
+        return project;
+    }
+
+    /** 2 statements: the insert and the owner row (none when the owner is cached). */
     @Transactional
-    public Project createProject(Project project, String userEmail) {
-        User user = userService.findByEmail(userEmail)
-                .orElseThrow(() -> new EntityNotFoundException("User not found with email: " + userEmail));
-        project.setUser(user);
-        return projectRepository.save(project);
+    public Project createProject(Project project, Long userId) {
+        project.setUser(userService.getReference(userId));
+        Project savedProject = projectRepository.save(project);
+        initializeOwner(savedProject);
+        eventPublisher.publishEvent(new ProjectCreatedEvent(
+                savedProject.getId(), userId, savedProject.getTitle(), savedProject.getDescription()));
+        return savedProject;
     }
 
+    /** At most 1 statement, as {@link #getProject}. */
     @Transactional(readOnly = true)
-    public boolean isProjectOwnedByUser(Long projectId, String userEmail) {
-        return userService.findByEmail(userEmail)
-                .map(user -> projectRepository.existsByIdAndUser(projectId, user))
-                .orElse(false);
+    public boolean isProjectOwnedByUser(Long projectId, Long userId) {
+        return getProject(projectId, userId).isPresent();
+    }
+
+    // Open-in-view is off, so anything rendered after the transaction must be loaded here
+    private static void initializeOwner(Project project) {
+        Hibernate.initialize(project.getUser());
+    }
+
+    private static boolean isOwnedBy(Project project, Long userId) {
+        // Reading the id of the lazy owner does not initialize it
+        return project.getUser() != null && project.getUser().getId().equals(userId);
     }
 }
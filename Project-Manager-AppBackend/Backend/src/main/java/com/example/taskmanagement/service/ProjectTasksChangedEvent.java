@@ -0,0 +1,37 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+
+import java.util.List;
+
+/**
+ * Published by {@link TaskService} once per write transaction, listing every task it
+ * touched. Listeners that push to clients must only act after the commit.
+ */
+public record ProjectTasksChangedEvent(Long projectId, List<TaskChange> changes) {
+
+    public enum Type {
+        CREATED("task-created"),
+        UPDATED("task-updated"),
+        COMPLETED("task-completed"),
+        DELETED("task-deleted");
+
+        private final String eventName;
+
+        Type(String eventName) {
+            this.eventName = eventName;
+        }
+
+        public String getEventName() {
+            return eventName;
+        }
+    }
+
+    /** {@code task} is {@code null} for deletions and bulk completions. */
+    public record TaskChange(Type type, Long taskId, TaskDTO task) {
+    }
+
+    public static ProjectTasksChangedEvent of(Long projectId, Type type, Long taskId, TaskDTO task) {
+        return new ProjectTasksChangedEvent(projectId, List.of(new TaskChange(type, taskId, task)));
+    }
+}
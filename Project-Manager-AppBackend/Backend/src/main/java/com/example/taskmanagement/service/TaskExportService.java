@@ -0,0 +1,172 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.repository.TaskRepository;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityNotFoundException;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.lang.NonNull;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+/**
+ * Streams a project's tasks to the response a chunk at a time, so memory use does
+ * not depend on the number of tasks exported. Each chunk is read by its own short
+ * query, keyed on the last id written, and no connection is held while the client
+ * reads: a slow download cannot take a connection from the pool for its whole
+ * length. The export is therefore not one snapshot; a task changed meanwhile is
+ * written as it was when its chunk was read, once at most.
+ */
+@Service
+@RequiredArgsConstructor
+public class TaskExportService {
+
+    /** Rows read per query and written between flushes, which become chunks on the wire. */
+    static final int CHUNK_SIZE = 1000;
+
+    private static final String CSV_HEADER = "id,title,description,completed,dueDate,priority,status";
+
+    private final TaskRepository taskRepository;
+    private final ProjectService projectService;
+    private final ObjectMapper objectMapper;
+
+    public enum Format {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        Format(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        public String getContentType() {
+            return contentType;
+        }
+
+        public String getExtension() {
+            return extension;
+        }
+    }
+
+    /** 1 statement per {@value #CHUNK_SIZE} tasks; the ownership check comes from the second-level cache. */
+    public long exportProjectTasks(@NonNull Long projectId, @NonNull Long userId,
+                                   @NonNull Format format, @NonNull Writer writer) throws IOException {
+        Objects.requireNonNull(projectId, "Project ID cannot be null");
+        Objects.requireNonNull(userId, "User ID cannot be null");
+        // Checked before the first write, so a foreign project is still a clean error
+        if (!projectService.isProjectOwnedByUser(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found");
+        }
+
+        Iterator<TaskDTO> tasks = new ChunkIterator(projectId);
+        return switch (format) {
+            case NDJSON -> writeNdjson(tasks, writer);
+            case CSV -> writeCsv(tasks, writer);
+        };
+    }
+
+    private long writeNdjson(Iterator<TaskDTO> tasks, Writer writer) throws IOException {
+        long count = 0;
+        try (JsonGenerator generator = objectMapper.getFactory().createGenerator(writer)) {
+            generator.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            generator.setRootValueSeparator(null);
+            while (tasks.hasNext()) {
+                objectMapper.writeValue(generator, tasks.next());
+                generator.writeRaw('\n');
+                if (++count % CHUNK_SIZE == 0) {
+                    generator.flush();
+                }
+            }
+            generator.flush();
+        }
+        return count;
+    }
+
+    private long writeCsv(Iterator<TaskDTO> tasks, Writer writer) throws IOException {
+        long count = 0;
+        writer.write(CSV_HEADER);
+        writer.write('\n');
+        while (tasks.hasNext()) {
+            TaskDTO task = tasks.next();
+            writer.write(String.valueOf(task.id()));
+            writer.write(',');
+            writer.write(csvField(task.title()));
+            writer.write(',');
+            writer.write(csvField(task.description()));
+            writer.write(',');
+            writer.write(String.valueOf(task.completed()));
+            writer.write(',');
+            writer.write(task.dueDate() != null ? task.dueDate().toString() : "");
+            writer.write(',');
+            writer.write(task.priority() != null ? task.priority().name() : "");
+            writer.write(',');
+            writer.write(task.status() != null ? task.status().name() : "");
+            writer.write('\n');
+            if (++count % CHUNK_SIZE == 0) {
+                writer.flush();
+            }
+        }
+        writer.flush();
+        return count;
+    }
+
+    /** Reads the next chunk once the previous one is written, each in the repository's own transaction. */
+    private final class ChunkIterator implements Iterator<TaskDTO> {
+
+        private final Long projectId;
+        private List<TaskDTO> chunk = List.of();
+        private int position;
+        private long lastId;
+        private boolean exhausted;
+
+        private ChunkIterator(Long projectId) {
+            this.projectId = projectId;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (position < chunk.size()) {
+                return true;
+            }
+            if (exhausted) {
+                return false;
+            }
+            chunk = taskRepository.findChunkByProjectId(projectId, lastId, PageRequest.of(0, CHUNK_SIZE));
+            position = 0;
+            exhausted = chunk.size() < CHUNK_SIZE;
+            return !chunk.isEmpty();
+        }
+
+        @Override
+        public TaskDTO next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            TaskDTO task = chunk.get(position++);
+            lastId = task.id();
+            return task;
+        }
+    }
+
+    private static String csvField(String value) {
+        if (value == null) {
+            return "";
+        }
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0
+                && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+}
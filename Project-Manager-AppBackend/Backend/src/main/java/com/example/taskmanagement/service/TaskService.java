@@ -1,132 +1,343 @@
 package com.example.taskmanagement.service;
 
-import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.dto.TaskBatchRequest;
+import com.example.taskmanagement.dto.TaskBatchResult;
+import com.example.taskmanagement.dto.TaskCursor;
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.dto.TaskFilter;
+import com.example.taskmanagement.dto.TaskPageDTO;
+import com.example.taskmanagement.dto.TaskUpdate;
 import com.example.taskmanagement.model.Task;
 import com.example.taskmanagement.repository.ProjectRepository;
 import com.example.taskmanagement.repository.TaskRepository;
+import com.example.taskmanagement.repository.TaskSpecifications;
+import com.example.taskmanagement.service.ProjectTasksChangedEvent.TaskChange;
+import com.example.taskmanagement.service.ProjectTasksChangedEvent.Type;
 import jakarta.persistence.EntityNotFoundException;
 import jakarta.validation.constraints.NotNull;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.lang.NonNull;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
+/**
+ * Task operations scoped to the owning user's id. A task is always resolved
+ * together with its project and owner in one statement via
+ * {@link TaskRepository#findOwnedTask}; statement counts per method are noted below.
+ * Every write publishes one {@link ProjectTasksChangedEvent}.
+ */
 @Service
 @RequiredArgsConstructor
 public class TaskService {
 
+    public static final int MAX_PAGE_SIZE = 200;
+    public static final int MAX_BATCH_SIZE = 500;
+
     private final TaskRepository taskRepository;
     private final ProjectRepository projectRepository;
     private final ProjectService projectService;
+    private final ApplicationEventPublisher eventPublisher;
 
+    /**
+     * One keyset page of a project's tasks. The cursor, when present, must have been
+     * produced by a previous call with the same sort; filters may not change between pages.
+     * 1 statement, plus one for the tasks without a sort key on the page that reaches
+     * them, and an ownership check only when the page comes back empty.
+     */
     @Transactional(readOnly = true)
-    public List<Task> getProjectTasks(@NotNull Long projectId, @NonNull String userEmail) {
-        if (projectId == null || userEmail == null) {
-            throw new IllegalArgumentException("Project ID and user email must not be null");
+    public TaskPageDTO getProjectTasksPage(@NotNull Long projectId, @NonNull Long userId,
+                                           @NonNull TaskFilter filter, @NonNull TaskCursor.Sort sort,
+                                           String cursor, int limit) {
+        if (projectId == null || userId == null || filter == null || sort == null) {
+            throw new IllegalArgumentException("Parameters must not be null");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        Specification<Task> spec = TaskSpecifications.inProject(projectId)
+                .and(TaskSpecifications.ownedBy(userId))
+                .and(TaskSpecifications.matching(filter));
+        TaskCursor position = null;
+        if (cursor != null && !cursor.isEmpty()) {
+            position = TaskCursor.decode(cursor);
+            if (position.sort() != sort) {
+                throw new IllegalArgumentException("Cursor does not match the requested sort");
+            }
         }
-        if (!projectService.isProjectOwnedByUser(projectId, userEmail)) {
+
+        // Fetch one extra row to learn whether another page exists
+        List<Task> tasks = findTasks(position != null ? spec.and(TaskSpecifications.after(position)) : spec,
+                sort, pageSize + 1);
+        if (position != null && position.sort() != TaskCursor.Sort.ID && position.key() != null
+                && tasks.size() <= pageSize) {
+            // The keyed range ran out: carry on with the tasks that have no key
+            tasks = new ArrayList<>(tasks);
+            tasks.addAll(findTasks(spec.and(TaskSpecifications.withoutKey(sort)), sort, pageSize + 1 - tasks.size()));
+        }
+
+        // An empty page is either a foreign project or simply no matching tasks
+        if (tasks.isEmpty() && !projectService.isProjectOwnedByUser(projectId, userId)) {
             throw new EntityNotFoundException("Project not found");
         }
-        Project project = projectRepository.getReferenceById(projectId);
-        return taskRepository.findByProject(project);
+
+        String nextCursor = null;
+        if (tasks.size() > pageSize) {
+            tasks = tasks.subList(0, pageSize);
+            nextCursor = TaskCursor.after(sort, tasks.get(pageSize - 1)).encode();
+        }
+        return new TaskPageDTO(tasks.stream().map(TaskDTO::from).toList(), nextCursor);
+    }
+
+    private List<Task> findTasks(Specification<Task> spec, TaskCursor.Sort sort, int limit) {
+        return taskRepository.findBy(spec, query -> query
+                .sortBy(TaskSpecifications.sortFor(sort))
+                .limit(limit)
+                .all());
     }
 
+    /** 3 statements: ownership check, insert, counter update. */
     @Transactional
-    public Task createTask(@NotNull Long projectId, @NonNull Task task, @NonNull String userEmail) {
-        if (projectId == null || task == null || userEmail == null) {
+    public Task createTask(@NotNull Long projectId, @NonNull Task task, @NonNull Long userId) {
+        if (projectId == null || task == null || userId == null) {
             throw new IllegalArgumentException("Parameters must not be null");
         }
-        Project project = projectService.getProject(projectId, userEmail)
-                .orElseThrow(() -> new EntityNotFoundException("Project not found"));
-        task.setProject(project);
-        return taskRepository.save(task);
+        if (!projectService.isProjectOwnedByUser(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found");
+        }
+        task.setProject(projectRepository.getReferenceById(projectId));
+        Task savedTask = taskRepository.save(task);
+        projectRepository.adjustTaskCounters(projectId, 1, savedTask.isCompleted() ? 1 : 0);
+        eventPublisher.publishEvent(ProjectTasksChangedEvent.of(
+                projectId, Type.CREATED, savedTask.getId(), TaskDTO.from(savedTask)));
+        return savedTask;
     }
 
-    @SuppressWarnings("null")
+    /** 3 statements (1 if already completed): owned-task lookup, update, counter update. */
     @Transactional
-    public void markTaskAsCompleted(@NotNull Long taskId, @NonNull String userEmail) {
-        Task task = getTaskByIdAndUserEmail(taskId, userEmail);
+    public void markTaskAsCompleted(@NotNull Long projectId, @NotNull Long taskId, @NonNull Long userId) {
+        Task task = getOwnedTask(projectId, taskId, userId);
+        if (task.isCompleted()) {
+            return;
+        }
         task.setCompleted(true);
         taskRepository.save(task);
+        projectRepository.adjustTaskCounters(projectId, 0, 1);
+        eventPublisher.publishEvent(ProjectTasksChangedEvent.of(projectId, Type.COMPLETED, taskId, TaskDTO.from(task)));
     }
 
-    @SuppressWarnings("null")
+    /** 3 statements: owned-task lookup, delete, counter update. */
     @Transactional
-    public void deleteTask(@NotNull Long taskId, @NonNull String userEmail) {
-        Task task = getTaskByIdAndUserEmail(taskId, userEmail);
+    public void deleteTask(@NotNull Long projectId, @NotNull Long taskId, @NonNull Long userId) {
+        Task task = getOwnedTask(projectId, taskId, userId);
+        boolean wasCompleted = task.isCompleted();
         taskRepository.delete(task);
+        projectRepository.adjustTaskCounters(projectId, -1, wasCompleted ? -1 : 0);
+        eventPublisher.publishEvent(ProjectTasksChangedEvent.of(projectId, Type.DELETED, taskId, null));
     }
 
+    /** 1 statement: owned-task lookup. */
     @Transactional(readOnly = true)
-    public Optional<Task> getTask(@NotNull Long taskId, @NonNull String userEmail) {
-        if (taskId == null || userEmail == null) {
-            throw new IllegalArgumentException("Task ID and user email must not be null");
-        }
-        
-        try {
-            Task task = getTaskByIdAndUserEmail(taskId, userEmail);
-            return Optional.of(task);
-        } catch (EntityNotFoundException e) {
-            return Optional.empty();
+    public Optional<Task> getTask(@NotNull Long projectId, @NotNull Long taskId, @NonNull Long userId) {
+        if (projectId == null || taskId == null || userId == null) {
+            throw new IllegalArgumentException("Project ID, task ID and user ID must not be null");
         }
+        return taskRepository.findOwnedTask(taskId, projectId, userId);
     }
 
+    /**
+     * 3 statements: owned-task lookup, update, counter and version bump. When
+     * {@code expectedVersion} is given the task must still be at that version, otherwise
+     * the update is rejected; a concurrent write between lookup and flush is caught by
+     * the {@code @Version} check either way.
+     */
     @Transactional
-    public Optional<Task> updateTask(@NotNull Long taskId, @NonNull Task taskDetails, @NonNull String userEmail) {
-        if (taskId == null || taskDetails == null || userEmail == null) {
+    public Optional<Task> updateTask(@NotNull Long projectId, @NotNull Long taskId,
+                                     @NonNull Task taskDetails, Long expectedVersion, @NonNull Long userId) {
+        if (projectId == null || taskId == null || taskDetails == null || userId == null) {
             throw new IllegalArgumentException("Parameters must not be null");
         }
 
-        return taskRepository.findById(taskId)
+        return taskRepository.findOwnedTask(taskId, projectId, userId)
                 .map(existingTask -> {
-                    // Verify the task belongs to the user's project
-                    if (existingTask.getProject() == null || 
-                        !projectService.isProjectOwnedByUser(existingTask.getProject().getId(), userEmail)) {
-                        throw new EntityNotFoundException("Task not found");
-                    }
-
-                    // Update task properties
-                    if (taskDetails.getTitle() != null) {
-                        existingTask.setTitle(taskDetails.getTitle());
-                    }
-                    if (taskDetails.getDescription() != null) {
-                        existingTask.setDescription(taskDetails.getDescription());
-                    }
-                    if (taskDetails.getDueDate() != null) {
-                        existingTask.setDueDate(taskDetails.getDueDate());
-                    }
-                    if (taskDetails.getPriority() != null) {
-                        existingTask.setPriority(taskDetails.getPriority());
-                    }
-                    if (taskDetails.getStatus() != null) {
-                        existingTask.setStatus(taskDetails.getStatus());
+                    if (expectedVersion != null && !expectedVersion.equals(existingTask.getVersion())) {
+                        throw new OptimisticLockingFailureException("Task " + taskId + " has been modified");
                     }
-                    existingTask.setCompleted(taskDetails.isCompleted());
+                    boolean wasCompleted = existingTask.isCompleted();
+                    applyChanges(existingTask, TaskUpdate.from(taskDetails));
                     
-                    return taskRepository.save(existingTask);
+                    Task savedTask = taskRepository.save(existingTask);
+                    long completedDelta = wasCompleted == savedTask.isCompleted() ? 0
+                            : savedTask.isCompleted() ? 1 : -1;
+                    projectRepository.adjustTaskCounters(projectId, 0, completedDelta);
+                    eventPublisher.publishEvent(ProjectTasksChangedEvent.of(
+                            projectId, Type.UPDATED, taskId, TaskDTO.from(savedTask)));
+                    return savedTask;
                 });
     }
 
-    private Task getTaskByIdAndUserEmail(@NotNull Long taskId, @NonNull String userEmail) {
-        if (taskId == null || userEmail == null) {
-            throw new IllegalArgumentException("Task ID and user email must not be null");
+    /**
+     * Applies up to {@link #MAX_BATCH_SIZE} mutations to one project in a single transaction.
+     * Ownership is checked once; inserts and updates are JDBC-batched, completions and
+     * deletes are single set-based statements, and the project counters and tasks version
+     * are adjusted once.
+     * Items that do not exist in the project are reported as NOT_FOUND rather than failing the batch.
+     */
+    @Transactional
+    public TaskBatchResult applyBatch(@NotNull Long projectId, @NonNull TaskBatchRequest batch, @NonNull Long userId) {
+        if (projectId == null || batch == null || userId == null) {
+            throw new IllegalArgumentException("Parameters must not be null");
         }
-        
-        Task task = taskRepository.findById(taskId)
-                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
-        
-        if (task == null) {
-            throw new EntityNotFoundException("Task not found");
+        if (batch.size() > MAX_BATCH_SIZE) {
+            throw new IllegalArgumentException("Batch must not contain more than " + MAX_BATCH_SIZE + " items");
+        }
+        if (!projectService.isProjectOwnedByUser(projectId, userId)) {
+            throw new EntityNotFoundException("Project not found");
+        }
+
+        long totalDelta = 0;
+        long completedDelta = 0;
+        boolean changed = false;
+
+        List<TaskBatchResult.Item> created = new ArrayList<>();
+        if (batch.create() != null && !batch.create().isEmpty()) {
+            for (Task task : batch.create()) {
+                task.setId(null);
+                task.setProject(projectRepository.getReferenceById(projectId));
+            }
+            for (Task task : taskRepository.saveAll(batch.create())) {
+                created.add(TaskBatchResult.Item.ok(task.getId(), TaskDTO.from(task)));
+                totalDelta++;
+                completedDelta += task.isCompleted() ? 1 : 0;
+            }
+        }
+
+        List<TaskBatchResult.Item> updated = new ArrayList<>();
+        if (batch.update() != null && !batch.update().isEmpty()) {
+            Set<Long> ids = batch.update().stream()
+                    .map(TaskUpdate::id)
+                    .filter(id -> id != null)
+                    .collect(Collectors.toSet());
+            Map<Long, Task> existing = ids.isEmpty() ? Map.of()
+                    : taskRepository.findByProjectIdAndIdIn(projectId, ids).stream()
+                            .collect(Collectors.toMap(Task::getId, Function.identity()));
+            for (TaskUpdate details : batch.update()) {
+                Task task = existing.get(details.id());
+                if (task == null) {
+                    updated.add(TaskBatchResult.Item.notFound(details.id()));
+                    continue;
+                }
+                boolean wasCompleted = task.isCompleted();
+                applyChanges(task, details);
+                if (wasCompleted != task.isCompleted()) {
+                    completedDelta += task.isCompleted() ? 1 : -1;
+                }
+                updated.add(TaskBatchResult.Item.ok(task.getId(), TaskDTO.from(task)));
+                changed = true;
+            }
+            // Dirty entities go out as one batched UPDATE per flush
+            taskRepository.flush();
+        }
+
+        List<TaskBatchResult.Item> completed = new ArrayList<>();
+        if (batch.complete() != null && !batch.complete().isEmpty()) {
+            Map<Long, Boolean> states = completionStates(projectId, batch.complete());
+            if (!states.isEmpty()) {
+                completedDelta += taskRepository.completeAllInProject(projectId, states.keySet());
+            }
+            for (Long id : batch.complete()) {
+                completed.add(states.containsKey(id) ? TaskBatchResult.Item.ok(id, null)
+                        : TaskBatchResult.Item.notFound(id));
+            }
+        }
+
+        List<TaskBatchResult.Item> deleted = new ArrayList<>();
+        if (batch.delete() != null && !batch.delete().isEmpty()) {
+            Map<Long, Boolean> states = completionStates(projectId, batch.delete());
+            if (!states.isEmpty()) {
+                taskRepository.deleteAllInProject(projectId, states.keySet());
+                totalDelta -= states.size();
+                completedDelta -= states.values().stream().filter(Boolean::booleanValue).count();
+            }
+            for (Long id : batch.delete()) {
+                deleted.add(states.containsKey(id) ? TaskBatchResult.Item.ok(id, null)
+                        : TaskBatchResult.Item.notFound(id));
+            }
+        }
+
+        if (changed || totalDelta != 0 || completedDelta != 0) {
+            projectRepository.adjustTaskCounters(projectId, totalDelta, completedDelta);
+            eventPublisher.publishEvent(new ProjectTasksChangedEvent(projectId,
+                    changesOf(created, updated, completed, deleted)));
+        }
+        return new TaskBatchResult(created, updated, completed, deleted);
+    }
+
+    private static List<TaskChange> changesOf(List<TaskBatchResult.Item> created, List<TaskBatchResult.Item> updated,
+                                              List<TaskBatchResult.Item> completed, List<TaskBatchResult.Item> deleted) {
+        List<TaskChange> changes = new ArrayList<>();
+        addChanges(changes, Type.CREATED, created);
+        addChanges(changes, Type.UPDATED, updated);
+        addChanges(changes, Type.COMPLETED, completed);
+        addChanges(changes, Type.DELETED, deleted);
+        return changes;
+    }
+
+    private static void addChanges(List<TaskChange> changes, Type type, List<TaskBatchResult.Item> items) {
+        for (TaskBatchResult.Item item : items) {
+            if (item.status() == TaskBatchResult.Status.OK) {
+                changes.add(new TaskChange(type, item.id(), item.task()));
+            }
         }
-        
-        Project project = task.getProject();
-        if (project == null || project.getId() == null || !projectService.isProjectOwnedByUser(project.getId(), userEmail)) {
-            throw new EntityNotFoundException("Task not found");
+    }
+
+    private Map<Long, Boolean> completionStates(Long projectId, List<Long> ids) {
+        Set<Long> distinctIds = new LinkedHashSet<>(ids);
+        distinctIds.remove(null);
+        if (distinctIds.isEmpty()) {
+            return Map.of();
+        }
+        return taskRepository.findCompletionStates(projectId, distinctIds).stream()
+                .collect(Collectors.toMap(TaskRepository.CompletionState::getId,
+                        TaskRepository.CompletionState::isCompleted));
+    }
+
+    private void applyChanges(Task existingTask, TaskUpdate taskDetails) {
+        if (taskDetails.title() != null) {
+            existingTask.setTitle(taskDetails.title());
+        }
+        if (taskDetails.description() != null) {
+            existingTask.setDescription(taskDetails.description());
+        }
+        if (taskDetails.dueDate() != null) {
+            existingTask.setDueDate(taskDetails.dueDate());
         }
-        
-        return task;
+        if (taskDetails.priority() != null) {
+            existingTask.setPriority(taskDetails.priority());
+        }
+        if (taskDetails.status() != null) {
+            existingTask.setStatus(taskDetails.status());
+        }
+        if (taskDetails.completed() != null) {
+            existingTask.setCompleted(taskDetails.completed());
+        }
+    }
+
+    private Task getOwnedTask(@NotNull Long projectId, @NotNull Long taskId, @NonNull Long userId) {
+        if (projectId == null || taskId == null || userId == null) {
+            throw new IllegalArgumentException("Project ID, task ID and user ID must not be null");
+        }
+        return taskRepository.findOwnedTask(taskId, projectId, userId)
+                .orElseThrow(() -> new EntityNotFoundException("Task not found"));
     }
 }
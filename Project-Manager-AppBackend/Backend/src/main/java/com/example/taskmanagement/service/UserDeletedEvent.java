@@ -0,0 +1,10 @@
+package com.example.taskmanagement.service;
+
+import java.util.List;
+
+/**
+ * Published by {@link DeletionService} when a user and, by cascade, the projects
+ * listed and their tasks are deleted.
+ */
+public record UserDeletedEvent(Long userId, List<Long> projectIds) {
+}
@@ -2,6 +2,7 @@ package com.example.taskmanagement.service;
 
 import com.example.taskmanagement.model.User;
 import com.example.taskmanagement.repository.UserRepository;
+import com.example.taskmanagement.security.AuthenticationCache;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -13,11 +14,17 @@ import java.util.Optional;
 public class UserService {
 
     private final UserRepository userRepository;
+    private final AuthenticationCache authenticationCache;
 
     public Optional<User> findByEmail(String email) {
         return userRepository.findByEmail(email);
     }
 
+    /** Reference to an existing user for associations; issues no query. */
+    public User getReference(Long userId) {
+        return userRepository.getReferenceById(userId);
+    }
+
     @Transactional
     public Optional<User> updateUser(String email, User userDetails) {
         if (email == null || userDetails == null) {
@@ -25,6 +32,7 @@ public class UserService {
         }
         return userRepository.findByEmail(email)
                 .map(existingUser -> {
+                    authenticationCache.evictUser(existingUser.getEmail());
                     if (userDetails.getName() != null) {
                         existingUser.setName(userDetails.getName());
                     }
@@ -37,12 +45,4 @@ public class UserService {
                     return userRepository.save(existingUser);
                 });
     }
-
-    @Transactional
-    public void deleteUser(String email) {
-        if (email != null) {
-            userRepository.findByEmail(email)
-                    .ifPresent(user -> userRepository.deleteById(user.getId()));
-        }
-    }
 }
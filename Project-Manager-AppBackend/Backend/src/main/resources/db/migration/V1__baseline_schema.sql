@@ -0,0 +1,85 @@
+-- Schema as mapped by the entities. Every statement is re-runnable so that this migration
+-- also adopts databases created by the former schema.sql and ddl-auto=update: Flyway
+-- baselines those at version 0 (spring.flyway.baseline-version) and then runs it.
+
+-- Quiet the "already exists, skipping" notices from the IF NOT EXISTS clauses
+SET LOCAL client_min_messages = warning;
+
+CREATE TABLE IF NOT EXISTS users (
+    id BIGSERIAL PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    email VARCHAR(255) NOT NULL,
+    password VARCHAR(255) NOT NULL,
+    name VARCHAR(255),
+    CONSTRAINT users_email_key UNIQUE (email)
+);
+
+CREATE TABLE IF NOT EXISTS projects (
+    id BIGSERIAL PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    -- Materialized task counters maintained by TaskService
+    total_tasks BIGINT NOT NULL DEFAULT 0,
+    completed_tasks BIGINT NOT NULL DEFAULT 0,
+    -- Bumped on every task write, with the counters
+    tasks_version BIGINT NOT NULL DEFAULT 0,
+    user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE
+);
+
+CREATE TABLE IF NOT EXISTS tasks (
+    id BIGSERIAL PRIMARY KEY,
+    version BIGINT NOT NULL DEFAULT 0,
+    title VARCHAR(255) NOT NULL,
+    description VARCHAR(255),
+    due_date DATE,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    priority VARCHAR(255),
+    -- Derived from priority (URGENT 0 .. LOW 3) so keyset pagination can use an ordered index
+    priority_rank INTEGER,
+    status VARCHAR(255),
+    project_id BIGINT NOT NULL REFERENCES projects (id) ON DELETE CASCADE
+);
+
+-- Pooled id generators on Project and Task allocate 50 ids per sequence call
+ALTER SEQUENCE projects_id_seq INCREMENT BY 50;
+ALTER SEQUENCE tasks_id_seq INCREMENT BY 50;
+
+-- Columns that schema.sql added to existing tables or that only ddl-auto=update created
+ALTER TABLE users ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE users ADD COLUMN IF NOT EXISTS name VARCHAR(255);
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS title VARCHAR(255);
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS total_tasks BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS completed_tasks BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE projects ADD COLUMN IF NOT EXISTS tasks_version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE tasks ADD COLUMN IF NOT EXISTS priority_rank INTEGER;
+
+UPDATE tasks SET priority_rank = CASE priority
+        WHEN 'URGENT' THEN 0 WHEN 'HIGH' THEN 1 WHEN 'MEDIUM' THEN 2 WHEN 'LOW' THEN 3 END
+    WHERE priority IS NOT NULL AND priority_rank IS NULL;
+
+DO $$
+DECLARE
+    duplicate RECORD;
+BEGIN
+    -- schema.sql named the title column "name" and made it NOT NULL, which every insert
+    -- through the entity violated; keep whatever it holds and drop it
+    IF EXISTS (SELECT 1 FROM information_schema.columns
+               WHERE table_schema = current_schema() AND table_name = 'projects' AND column_name = 'name') THEN
+        UPDATE projects SET title = name WHERE title IS NULL;
+        ALTER TABLE projects DROP COLUMN name;
+    END IF;
+
+    -- ddl-auto=update added a second, generated unique constraint on users.email
+    FOR duplicate IN
+        SELECT conname FROM pg_constraint
+        WHERE conrelid = 'users'::regclass AND contype = 'u' AND conname <> 'users_email_key'
+    LOOP
+        EXECUTE format('ALTER TABLE users DROP CONSTRAINT %I', duplicate.conname);
+    END LOOP;
+END $$;
+
+UPDATE projects SET title = '' WHERE title IS NULL;
+ALTER TABLE projects ALTER COLUMN title SET NOT NULL;
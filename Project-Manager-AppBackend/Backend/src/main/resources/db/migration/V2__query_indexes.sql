@@ -0,0 +1,22 @@
+-- Indexes behind the repository queries. CONCURRENTLY keeps the tables writable while
+-- they build; Flyway runs this migration outside a transaction because of it.
+
+-- Keyset pagination of a project's tasks: one index per sort order, each ending in id.
+-- (project_id, id) also serves the foreign key, e.g. the cascade from projects.
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_id ON tasks (project_id, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_due_date ON tasks (project_id, due_date, id);
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_priority ON tasks (project_id, priority_rank, id);
+
+-- Status filter in id order; the priority filter uses priority_rank and the index above
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_status ON tasks (project_id, status, id);
+
+-- Open tasks by due date, without the completed ones that pile up over a project's life
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_open_due_date ON tasks (project_id, due_date, id)
+    WHERE completed = false;
+
+-- Completed counts per project, for counter reconciliation
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_tasks_project_completed ON tasks (project_id)
+    WHERE completed = true;
+
+-- A user's projects, versions and progress, in id order; also serves the foreign key
+CREATE INDEX CONCURRENTLY IF NOT EXISTS idx_projects_user_id ON projects (user_id, id);
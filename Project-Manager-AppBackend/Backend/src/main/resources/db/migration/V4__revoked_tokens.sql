@@ -0,0 +1,11 @@
+-- Access tokens revoked before their expiry, by jti. A row is only needed until the token
+-- would have expired anyway; TokenRevocationList deletes it after that.
+CREATE TABLE IF NOT EXISTS revoked_tokens (
+    jti UUID PRIMARY KEY,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    revoked_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+-- Purge of expired rows, and the periodic sync that picks up other nodes' revocations
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_expires_at ON revoked_tokens (expires_at);
+CREATE INDEX IF NOT EXISTS idx_revoked_tokens_revoked_at ON revoked_tokens (revoked_at);
@@ -0,0 +1,16 @@
+-- One row per signed-in session. Refresh tokens are opaque; only their SHA-256 is stored.
+-- Every refresh replaces token_hash and keeps the replaced hash in previous_hash, so a
+-- replayed token is recognised and its session ended (RefreshTokenService).
+CREATE TABLE IF NOT EXISTS refresh_tokens (
+    id BIGSERIAL PRIMARY KEY,
+    user_id BIGINT NOT NULL REFERENCES users (id) ON DELETE CASCADE,
+    token_hash BYTEA NOT NULL,
+    previous_hash BYTEA,
+    expires_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    CONSTRAINT refresh_tokens_token_hash_key UNIQUE (token_hash),
+    CONSTRAINT refresh_tokens_previous_hash_key UNIQUE (previous_hash)
+);
+
+-- The cascade from users; the hourly purge of expired sessions scans instead of keeping a
+-- fourth index up to date on every refresh
+CREATE INDEX IF NOT EXISTS idx_refresh_tokens_user_id ON refresh_tokens (user_id);
@@ -0,0 +1,24 @@
+-- Deleting a user or a project is a single DELETE; the database removes the projects and
+-- tasks underneath (DeletionService). V1 declares both foreign keys with ON DELETE CASCADE,
+-- but on databases it adopted, ddl-auto=update had already created them without, and
+-- CREATE TABLE IF NOT EXISTS left them so. Replace any such constraint. (refresh_tokens is
+-- newer and always had its cascade.)
+DO $$
+DECLARE
+    foreign_key RECORD;
+BEGIN
+    FOR foreign_key IN
+        SELECT c.conname, c.conrelid::regclass AS child, a.attname AS child_column, c.confrelid::regclass AS parent
+        FROM pg_constraint c
+        JOIN pg_attribute a ON a.attrelid = c.conrelid AND a.attnum = c.conkey[1]
+        WHERE c.contype = 'f' AND c.confdeltype <> 'c'
+          AND (c.conrelid, c.confrelid) IN (('projects'::regclass, 'users'::regclass),
+                                            ('tasks'::regclass, 'projects'::regclass))
+    LOOP
+        EXECUTE format('ALTER TABLE %s DROP CONSTRAINT %I', foreign_key.child, foreign_key.conname);
+        -- Every row already satisfied the old constraint; NOT VALID skips the check under lock
+        EXECUTE format('ALTER TABLE %s ADD CONSTRAINT %I FOREIGN KEY (%I) REFERENCES %s (id) ON DELETE CASCADE NOT VALID',
+                       foreign_key.child, foreign_key.conname, foreign_key.child_column, foreign_key.parent);
+        EXECUTE format('ALTER TABLE %s VALIDATE CONSTRAINT %I', foreign_key.child, foreign_key.conname);
+    END LOOP;
+END $$;
@@ -0,0 +1,26 @@
+package com.example.taskmanagement.controller;
+
+import jakarta.persistence.EntityNotFoundException;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ClientErrorExceptionHandlerTest {
+
+    private final ClientErrorExceptionHandler handler = new ClientErrorExceptionHandler();
+
+    @Test
+    void illegalArgumentIsABadRequest() {
+        var response = handler.handleBadRequest(new IllegalArgumentException("Invalid cursor"));
+
+        assertEquals(HttpStatus.BAD_REQUEST, response.getStatusCode());
+    }
+
+    @Test
+    void missingEntityIsNotFound() {
+        var response = handler.handleNotFound(new EntityNotFoundException("Project not found"));
+
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+    }
+}
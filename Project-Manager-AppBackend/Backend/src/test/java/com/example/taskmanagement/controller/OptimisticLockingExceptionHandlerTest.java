@@ -0,0 +1,36 @@
+package com.example.taskmanagement.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class OptimisticLockingExceptionHandlerTest {
+
+    private final OptimisticLockingExceptionHandler handler = new OptimisticLockingExceptionHandler();
+
+    @Test
+    void staleIfMatchIsAFailedPrecondition() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/projects/1/tasks/2");
+        request.addHeader(HttpHeaders.IF_MATCH, "\"task-2-0\"");
+
+        var response = handler.handleConflict(
+                new ObjectOptimisticLockingFailureException("Task", 2L), new ServletWebRequest(request));
+
+        assertEquals(HttpStatus.PRECONDITION_FAILED, response.getStatusCode());
+    }
+
+    @Test
+    void concurrentWriteWithoutPreconditionIsAConflict() {
+        MockHttpServletRequest request = new MockHttpServletRequest("PUT", "/api/projects/1/tasks/2/complete");
+
+        var response = handler.handleConflict(
+                new ObjectOptimisticLockingFailureException("Task", 2L), new ServletWebRequest(request));
+
+        assertEquals(HttpStatus.CONFLICT, response.getStatusCode());
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.taskmanagement.overload;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Goodput under overload: many more clients than a simulated four-connection
+ * database can serve, each retrying a 503 after a short pause. Without the limit
+ * requests queue for the database until none meets the latency objective; with it
+ * the excess is turned away and most of the database's throughput stays good.
+ */
+class ConcurrencyLimitFilterTest {
+
+    private static final int CONNECTIONS = 4;
+    private static final long QUERY_MILLIS = 10;
+    private static final int CLIENTS = 200;
+    private static final long OBJECTIVE_NANOS = Duration.ofMillis(250).toNanos();
+    private static final long RETRY_PAUSE_MILLIS = 50;
+    private static final Duration WARM_UP = Duration.ofSeconds(2);
+    private static final Duration MEASURED = Duration.ofSeconds(3);
+    // Requests the database completes per second at best
+    private static final double CAPACITY = CONNECTIONS * 1000.0 / QUERY_MILLIS;
+
+    @Test
+    void keepsGoodputUnderOverload() throws Exception {
+        double limited = goodput(filter(true));
+        double unlimited = goodput(filter(false));
+
+        assertTrue(limited > 0.6 * CAPACITY, () -> "Goodput " + limited + "/s with the limit, capacity " + CAPACITY);
+        assertTrue(unlimited < limited / 2, () -> "Goodput " + unlimited + "/s without the limit, " + limited + " with");
+    }
+
+    private static ConcurrencyLimitFilter filter(boolean enabled) {
+        return new ConcurrencyLimitFilter(enabled, 20, 10, 200, Duration.ofMillis(100), 0.8, new SimpleMeterRegistry());
+    }
+
+    /** Successful responses within the objective per second, once the limit has had time to settle. */
+    private static double goodput(ConcurrencyLimitFilter filter) throws InterruptedException {
+        Semaphore database = new Semaphore(CONNECTIONS, true);
+        FilterChain chain = (request, response) -> {
+            try {
+                database.acquire();
+                try {
+                    Thread.sleep(QUERY_MILLIS);
+                } finally {
+                    database.release();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        AtomicBoolean measuring = new AtomicBoolean();
+        AtomicBoolean stopped = new AtomicBoolean();
+        AtomicInteger good = new AtomicInteger();
+        List<Thread> clients = new ArrayList<>();
+        for (int i = 0; i < CLIENTS; i++) {
+            Thread client = new Thread(() -> {
+                while (!stopped.get()) {
+                    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/projects/1/tasks");
+                    MockHttpServletResponse response = new MockHttpServletResponse();
+                    long start = System.nanoTime();
+                    try {
+                        filter.doFilter(request, response, chain);
+                        if (response.getStatus() != 200) {
+                            Thread.sleep(RETRY_PAUSE_MILLIS);
+                        } else if (System.nanoTime() - start <= OBJECTIVE_NANOS && measuring.get()) {
+                            good.incrementAndGet();
+                        }
+                    } catch (InterruptedException e) {
+                        return;
+                    } catch (Exception e) {
+                        throw new IllegalStateException(e);
+                    }
+                }
+            });
+            client.start();
+            clients.add(client);
+        }
+        Thread.sleep(WARM_UP.toMillis());
+        measuring.set(true);
+        Thread.sleep(MEASURED.toMillis());
+        measuring.set(false);
+        stopped.set(true);
+        for (Thread client : clients) {
+            client.interrupt();
+            client.join();
+        }
+        return good.get() * 1000.0 / MEASURED.toMillis();
+    }
+}
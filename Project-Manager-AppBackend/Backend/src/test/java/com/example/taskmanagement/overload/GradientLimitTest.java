@@ -0,0 +1,102 @@
+package com.example.taskmanagement.overload;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GradientLimitTest {
+
+    private static final long WINDOW = 100_000_000;
+    private static final long MILLISECOND = 1_000_000;
+
+    private long now;
+
+    @Test
+    void growsWhileLatencyHolds() {
+        GradientLimit limit = new GradientLimit(20, 10, 200, WINDOW, now);
+
+        windows(limit, 10, 10 * MILLISECOND, 20);
+
+        assertTrue(limit.limit() > 20, () -> "Limit " + limit.limit());
+    }
+
+    @Test
+    void shrinksWhenRequestsQueue() {
+        GradientLimit limit = new GradientLimit(100, 10, 200, WINDOW, now);
+        windows(limit, 5, 10 * MILLISECOND, 100);
+
+        windows(limit, 40, 100 * MILLISECOND, 100);
+
+        assertEquals(10, limit.limit());
+    }
+
+    @Test
+    void staysPutWhileFarBelowTheLimit() {
+        GradientLimit limit = new GradientLimit(100, 10, 200, WINDOW, now);
+        windows(limit, 5, 10 * MILLISECOND, 20);
+
+        windows(limit, 20, 100 * MILLISECOND, 20);
+
+        assertEquals(100, limit.limit());
+    }
+
+    @Test
+    void carriesTooFewSamplesOverToTheNextWindow() {
+        GradientLimit limit = new GradientLimit(100, 10, 200, WINDOW, now);
+        windows(limit, 5, 10 * MILLISECOND, 100);
+        // The sample that closes a window counts in it
+        now += WINDOW;
+        limit.record(10 * MILLISECOND, 100, now);
+        int before = limit.limit();
+
+        // Three slow samples a window are too few to act on alone
+        for (int window = 0; window < 3; window++) {
+            now += WINDOW;
+            for (int i = 0; i < 3; i++) {
+                limit.record(100 * MILLISECOND, 100, now);
+            }
+        }
+        assertEquals(before, limit.limit());
+        // The tenth is enough, together with the nine carried over
+        now += WINDOW;
+        limit.record(100 * MILLISECOND, 100, now);
+        assertTrue(limit.limit() < before);
+    }
+
+    @Test
+    void samplesRecordedWhileAWindowClosesCountInTheNext() throws InterruptedException {
+        GradientLimit limit = new GradientLimit(100, 10, 200, WINDOW, 0);
+        List<Thread> threads = new ArrayList<>();
+        for (int t = 0; t < 4; t++) {
+            Thread thread = new Thread(() -> {
+                for (long window = 1; window <= 200; window++) {
+                    for (int i = 0; i < 50; i++) {
+                        limit.record(10 * MILLISECOND, 100, window * WINDOW);
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        // Every window saw the same latency: a torn read of count and sum would show up as queueing
+        assertEquals(200, limit.limit());
+    }
+
+    /** Closes {@code count} windows, each with 20 samples of the latency. */
+    private void windows(GradientLimit limit, int count, long latency, int inFlight) {
+        for (int window = 0; window < count; window++) {
+            now += WINDOW;
+            for (int i = 0; i < 20; i++) {
+                limit.record(latency, inFlight, now);
+            }
+        }
+    }
+}
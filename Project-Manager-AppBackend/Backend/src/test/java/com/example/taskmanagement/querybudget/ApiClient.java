@@ -0,0 +1,100 @@
+package com.example.taskmanagement.querybudget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+
+/** Blocking JSON calls against the application, as one user at a time. */
+final class ApiClient {
+
+    /** {@code eTag} is the response's ETag header, or {@code null} without one. */
+    record Response(int status, JsonNode body, String eTag) {
+    }
+
+    private final HttpClient client = HttpClient.newBuilder()
+            .version(HttpClient.Version.HTTP_1_1)
+            .connectTimeout(Duration.ofSeconds(10))
+            .build();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String baseUrl;
+    private String token;
+
+    ApiClient(String baseUrl) {
+        this.baseUrl = baseUrl;
+    }
+
+    void setToken(String token) {
+        this.token = token;
+    }
+
+    Response get(String path) throws IOException, InterruptedException {
+        return send(request(path).GET());
+    }
+
+    /** A conditional GET, answered with 304 while the tag still matches. */
+    Response get(String path, String ifNoneMatch) throws IOException, InterruptedException {
+        return send(request(path).header("If-None-Match", ifNoneMatch).GET());
+    }
+
+    Response post(String path, String json) throws IOException, InterruptedException {
+        return send(request(path).POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    Response put(String path, String json) throws IOException, InterruptedException {
+        return send(request(path).PUT(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    Response put(String path, String json, String ifMatch) throws IOException, InterruptedException {
+        return send(request(path).header("If-Match", ifMatch).PUT(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    Response delete(String path) throws IOException, InterruptedException {
+        return send(request(path).DELETE());
+    }
+
+    /** Opens an event stream and closes it once the response headers arrive. */
+    Response openStream(String path) throws IOException, InterruptedException {
+        HttpResponse<InputStream> response = client.send(request(path).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+        response.body().close();
+        return new Response(response.statusCode(), objectMapper.nullNode(), eTagOf(response));
+    }
+
+    String json(Object... namesAndValues) {
+        var node = objectMapper.createObjectNode();
+        for (int i = 0; i < namesAndValues.length; i += 2) {
+            node.set((String) namesAndValues[i], objectMapper.valueToTree(namesAndValues[i + 1]));
+        }
+        return node.toString();
+    }
+
+    private HttpRequest.Builder request(String path) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder;
+    }
+
+    private Response send(HttpRequest.Builder request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+        String body = response.body();
+        JsonNode json = body.startsWith("{") || body.startsWith("[")
+                ? objectMapper.readTree(body)
+                : objectMapper.nullNode();
+        return new Response(response.statusCode(), json, eTagOf(response));
+    }
+
+    private static String eTagOf(HttpResponse<?> response) {
+        return response.headers().firstValue("ETag").orElse(null);
+    }
+}
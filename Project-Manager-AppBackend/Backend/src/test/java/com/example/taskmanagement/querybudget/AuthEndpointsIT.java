@@ -0,0 +1,52 @@
+package com.example.taskmanagement.querybudget;
+
+import com.example.taskmanagement.querybudget.ApiClient.Response;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/** Statement budgets of AuthController. */
+class AuthEndpointsIT extends StatementBudgetTest {
+
+    @Test
+    void register() throws Exception {
+        api.setToken(null);
+        // The email check, then the insert
+        expect(2, 200, () -> api.post("/auth/register",
+                api.json("name", "Newcomer", "email", "newcomer-" + System.nanoTime() + "@example.com",
+                        "password", "budget-password")));
+    }
+
+    @Test
+    void login() throws Exception {
+        api.setToken(null);
+        // The user by email, then the refresh session
+        expect(2, 200, () -> api.post("/auth/login", credentials));
+    }
+
+    @Test
+    void refreshToken() throws Exception {
+        // Only the rotating update: the session comes from the cache and the user from the second-level cache
+        expect(1, 200, () -> api.post("/auth/refresh-token",
+                api.json("refreshToken", login.body().get("refreshToken").asText())));
+    }
+
+    @Test
+    void replayedRefreshTokenEndsTheSession() throws Exception {
+        String replayed = login.body().get("refreshToken").asText();
+        Response refreshed = api.post("/auth/refresh-token", api.json("refreshToken", replayed));
+        assertEquals(200, refreshed.status());
+        // Not cached any more: lookup by token hash, then by previous hash, then the session's delete
+        expect(3, 401, () -> api.post("/auth/refresh-token", api.json("refreshToken", replayed)));
+        // The cached session of the current token is gone from the database too
+        assertEquals(401, api.post("/auth/refresh-token",
+                api.json("refreshToken", refreshed.body().get("refreshToken").asText())).status());
+    }
+
+    @Test
+    void logout() throws Exception {
+        // Revokes the access token and deletes the refresh session
+        expect(2, 200, () -> api.post("/auth/logout",
+                api.json("refreshToken", login.body().get("refreshToken").asText())));
+    }
+}
@@ -0,0 +1,49 @@
+package com.example.taskmanagement.querybudget;
+
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * A PostgreSQL server started from the test JVM on a free port, once for all the
+ * tests that need one, and stopped with the JVM. The application migrates its empty
+ * database with Flyway like any other.
+ */
+final class PostgresTestDatabase {
+
+    private static final String DATABASE = "task_management";
+
+    private static String jdbcUrl;
+
+    private PostgresTestDatabase() {
+    }
+
+    static synchronized String jdbcUrl() {
+        if (jdbcUrl == null) {
+            try {
+                EmbeddedPostgres postgres = EmbeddedPostgres.builder().start();
+                try (Connection connection = postgres.getPostgresDatabase().getConnection();
+                     Statement statement = connection.createStatement()) {
+                    statement.execute("CREATE DATABASE " + DATABASE);
+                }
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        postgres.close();
+                    } catch (IOException e) {
+                        // The JVM is exiting; the data directory is temporary anyway
+                    }
+                }));
+                jdbcUrl = postgres.getJdbcUrl("postgres", DATABASE);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not start PostgreSQL", e);
+            } catch (SQLException e) {
+                throw new IllegalStateException("Could not create the test database", e);
+            }
+        }
+        return jdbcUrl;
+    }
+}
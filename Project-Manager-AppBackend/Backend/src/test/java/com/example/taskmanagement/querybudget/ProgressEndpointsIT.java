@@ -0,0 +1,65 @@
+package com.example.taskmanagement.querybudget;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/** Statement budgets of ProgressController. */
+class ProgressEndpointsIT extends StatementBudgetTest {
+
+    private String project;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        project = createProject("Budget project");
+        createTask(project, "First task");
+    }
+
+    @Test
+    void getProjectProgress() throws Exception {
+        // The project row, evicted by the task insert, gives both the tag and the counters
+        expect(1, 200, () -> api.get(project + "/progress"));
+    }
+
+    @Test
+    void getProjectProgressNotModified() throws Exception {
+        String tag = api.get(project + "/progress").eTag();
+        ApiClient.Response response = expect(1, 304, () -> api.get(project + "/progress", tag));
+        assertEquals(tag, response.eTag());
+    }
+
+    @Test
+    void getProjectProgressTagChangesWithTheTasks() throws Exception {
+        String tag = api.get(project + "/progress").eTag();
+        createTask(project, "Second task");
+        ApiClient.Response response = expect(1, 200, () -> api.get(project + "/progress", tag));
+        assertNotEquals(tag, response.eTag());
+        assertEquals(2, response.body().get("totalTasks").asInt());
+    }
+
+    @Test
+    void getProjectsProgress() throws Exception {
+        createProject("Second project");
+        // The versions for the tag, then the grouped progress query
+        expect(2, 200, () -> api.get("/api/projects/progress"));
+    }
+
+    @Test
+    void getProjectsProgressNotModified() throws Exception {
+        createProject("Second project");
+        String tag = api.get("/api/projects/progress").eTag();
+        // Only the versions for the tag
+        ApiClient.Response response = expect(1, 304, () -> api.get("/api/projects/progress", tag));
+        assertEquals(tag, response.eTag());
+    }
+
+    @Test
+    void getProjectsProgressTagChangesWithTheTasks() throws Exception {
+        String tag = api.get("/api/projects/progress").eTag();
+        createTask(project, "Second task");
+        ApiClient.Response response = expect(2, 200, () -> api.get("/api/projects/progress", tag));
+        assertNotEquals(tag, response.eTag());
+    }
+}
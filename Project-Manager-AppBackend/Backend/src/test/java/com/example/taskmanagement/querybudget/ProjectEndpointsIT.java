@@ -0,0 +1,36 @@
+package com.example.taskmanagement.querybudget;
+
+import org.junit.jupiter.api.Test;
+
+/** Statement budgets of ProjectController. */
+class ProjectEndpointsIT extends StatementBudgetTest {
+
+    @Test
+    void createProject() throws Exception {
+        expect(1, 200, () -> api.post("/api/projects",
+                api.json("title", "Budget project", "description", "Checked tasks")));
+    }
+
+    @Test
+    void getProjects() throws Exception {
+        createProject("First project");
+        createProject("Second project");
+        expect(1, 200, () -> api.get("/api/projects"));
+    }
+
+    @Test
+    void getProject() throws Exception {
+        String project = createProject("Budget project");
+        // From the second-level cache
+        expect(0, 200, () -> api.get(project));
+    }
+
+    @Test
+    void streamEventsThenDeleteProject() throws Exception {
+        String project = createProject("Streamed project");
+        // Ownership from the second-level cache
+        expect(0, 200, () -> api.openStream(project + "/events"));
+        // Its task ids for the search index, then one delete that cascades; also ends the stream
+        expect(2, 204, () -> api.delete(project));
+    }
+}
@@ -0,0 +1,39 @@
+package com.example.taskmanagement.querybudget;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/** Statement budgets of SearchController. */
+class SearchEndpointsIT extends StatementBudgetTest {
+
+    private static final Duration INDEX_BUILD_TIMEOUT = Duration.ofSeconds(30);
+
+    @BeforeEach
+    void createTasks() throws Exception {
+        String project = createProject("Budget project");
+        createTask(project, "First task");
+        createTask(project, "Second task");
+        awaitIndex();
+    }
+
+    @Test
+    void search() throws Exception {
+        // Matches the project's description and the tasks: one query per kind of result
+        expect(2, 200, () -> api.get("/api/search?q=tas"));
+    }
+
+    /** The index is built in the background at startup and answers 503 until then. */
+    private void awaitIndex() throws Exception {
+        long deadline = System.nanoTime() + INDEX_BUILD_TIMEOUT.toNanos();
+        while (api.get("/api/search?q=tas").status() == 503) {
+            if (System.nanoTime() > deadline) {
+                fail("Search index not built within " + INDEX_BUILD_TIMEOUT);
+            }
+            Thread.sleep(100);
+        }
+    }
+}
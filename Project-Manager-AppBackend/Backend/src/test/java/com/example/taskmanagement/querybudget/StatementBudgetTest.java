@@ -0,0 +1,123 @@
+package com.example.taskmanagement.querybudget;
+
+import com.example.taskmanagement.querybudget.ApiClient.Response;
+import com.example.taskmanagement.querybudget.StatementLog.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Base of the tests that hold each endpoint to a budget of SQL statements. The
+ * application runs on a random port against PostgreSQL with the Flyway schema, and
+ * every test starts signed in as a new user. A budget is the count the endpoint has
+ * today: raise it only together with the change that needs the extra statement, and
+ * lower it when an endpoint gets cheaper. Each count includes work the request handed
+ * to other threads, like post-commit events. Id-block fetches are not counted: they
+ * come once every 50 inserts, whichever request happens to need the next block.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        // The database is gone after the run, so a search snapshot could never be reused
+        "search.snapshot-path=",
+        // Single node: nothing to sync, and a background query would land in some endpoint's count
+        "security.revocation.sync-interval=PT24H",
+        // Every test signs up from the same address
+        "security.rate-limit.enabled=false",
+        "logging.level.org.springframework.security=WARN",
+        "logging.level.com.example=WARN"
+})
+@Import(StatementCountingConfiguration.class)
+abstract class StatementBudgetTest {
+
+    private static final Duration QUIET_PERIOD = Duration.ofMillis(100);
+    private static final AtomicInteger USERS = new AtomicInteger();
+
+    @FunctionalInterface
+    interface Call {
+        Response send() throws Exception;
+    }
+
+    @LocalServerPort
+    private int port;
+
+    protected ApiClient api;
+    protected String credentials;
+    /** The response to signing in: the access and refresh tokens. */
+    protected Response login;
+
+    @DynamicPropertySource
+    static void database(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", PostgresTestDatabase::jdbcUrl);
+    }
+
+    @BeforeEach
+    void signUp() throws Exception {
+        api = new ApiClient("http://localhost:" + port);
+        signUpNewUser();
+    }
+
+    /** Registers another user and continues as that user, e.g. to reach someone else's project. */
+    protected void signUpNewUser() throws Exception {
+        int user = USERS.incrementAndGet();
+        credentials = api.json("name", "Budget " + user, "email", "budget-" + user + "@example.com",
+                "password", "budget-password");
+        assertEquals(200, api.post("/auth/register", credentials).status());
+        login = api.post("/auth/login", credentials);
+        assertEquals(200, login.status());
+        api.setToken(login.body().get("accessToken").asText());
+    }
+
+    /**
+     * Sends the call, checks its status, and fails, listing the SQL, when it ran more
+     * than {@code budget} statements.
+     */
+    protected Response expect(int budget, int status, Call call) throws Exception {
+        StatementCountingConfiguration.LOG.awaitQuiet(QUIET_PERIOD);
+        StatementCountingConfiguration.LOG.drain();
+        Response response = call.send();
+        StatementCountingConfiguration.LOG.awaitQuiet(QUIET_PERIOD);
+        List<Statement> statements = StatementCountingConfiguration.LOG.drain().stream()
+                .filter(statement -> !statement.sql().contains("nextval("))
+                .toList();
+        assertEquals(status, response.status(), () -> "Unexpected status, body: " + response.body());
+        assertTrue(statements.size() <= budget, () -> "Ran " + statements.size() + " statements, budget "
+                + budget + ":\n" + describe(statements));
+        return response;
+    }
+
+    /** Creates a project, not counted against anything; returns its path. */
+    protected String createProject(String title) throws Exception {
+        Response project = api.post("/api/projects", api.json("title", title, "description", "Checked tasks"));
+        assertEquals(200, project.status());
+        return "/api/projects/" + project.body().get("id").asLong();
+    }
+
+    /** Creates a task, not counted against anything; returns its path. */
+    protected String createTask(String project, String title) throws Exception {
+        Response task = api.post(project + "/tasks", taskJson(title));
+        assertEquals(201, task.status());
+        return project + "/tasks/" + task.body().get("id").asLong();
+    }
+
+    protected String taskJson(String title) {
+        return api.json("title", title, "status", "TODO", "priority", "MEDIUM");
+    }
+
+    private static String describe(List<Statement> statements) {
+        return StatementLog.countBySql(statements).entrySet().stream()
+                .map((Map.Entry<String, Integer> statement) -> String.format("  %3dx %s",
+                        statement.getValue(), statement.getKey()))
+                .collect(Collectors.joining("\n"));
+    }
+}
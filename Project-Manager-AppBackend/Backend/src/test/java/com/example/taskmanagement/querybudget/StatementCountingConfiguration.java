@@ -0,0 +1,31 @@
+package com.example.taskmanagement.querybudget;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+
+import javax.sql.DataSource;
+
+/**
+ * Routes the application's {@link DataSource} through a {@link StatementCountingDataSource}.
+ * The log is a static singleton because bean post-processors are created before any
+ * other bean they could depend on.
+ */
+@TestConfiguration(proxyBeanMethods = false)
+public class StatementCountingConfiguration {
+
+    static final StatementLog LOG = new StatementLog();
+
+    @Bean
+    public static BeanPostProcessor statementCountingDataSource() {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof StatementCountingDataSource)) {
+                    return new StatementCountingDataSource(dataSource, LOG);
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,95 @@
+package com.example.taskmanagement.querybudget;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Records every statement executed through its connections in a {@link StatementLog}.
+ * Connections and statements are JDK proxies over the pool's own objects; nothing
+ * else about them changes.
+ */
+public class StatementCountingDataSource extends DelegatingDataSource {
+
+    private final StatementLog log;
+
+    public StatementCountingDataSource(DataSource target, StatementLog log) {
+        super(target);
+        this.log = log;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return counting(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return counting(super.getConnection(username, password));
+    }
+
+    private Connection counting(Connection connection) {
+        return proxy(Connection.class, connection, (method, args) -> {
+            Object result = invoke(connection, method, args);
+            return switch (method.getName()) {
+                case "createStatement" -> countingStatement(Statement.class, (Statement) result, null);
+                case "prepareStatement" -> countingStatement(PreparedStatement.class, (Statement) result, (String) args[0]);
+                case "prepareCall" -> countingStatement(CallableStatement.class, (Statement) result, (String) args[0]);
+                default -> result;
+            };
+        });
+    }
+
+    /** {@code preparedSql} is null for plain statements, which pass their SQL to each call. */
+    private <S extends Statement> S countingStatement(Class<S> type, Statement statement, String preparedSql) {
+        List<String> batch = new ArrayList<>();
+        return proxy(type, statement, (method, args) -> {
+            String name = method.getName();
+            String sql = args != null && args.length > 0 && args[0] instanceof String text ? text : preparedSql;
+            if (name.equals("addBatch")) {
+                batch.add(sql);
+            } else if (name.equals("clearBatch")) {
+                batch.clear();
+            } else if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                if (!batch.isEmpty()) {
+                    log.record(preparedSql != null ? preparedSql : String.join("; ", batch), batch.size());
+                    batch.clear();
+                }
+            } else if (name.startsWith("execute")) {
+                log.record(sql, 1);
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private interface Handler {
+        Object handle(Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, Object target, Handler handler) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "equals" -> proxy == args[0];
+                    case "hashCode" -> System.identityHashCode(proxy);
+                    default -> handler.handle(method, args);
+                }));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+}
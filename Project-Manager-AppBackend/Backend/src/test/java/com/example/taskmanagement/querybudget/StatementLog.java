@@ -0,0 +1,66 @@
+package com.example.taskmanagement.querybudget;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Every statement sent to the database through a {@link StatementCountingDataSource},
+ * from any thread, in execution order. A JDBC batch is one entry: it is one round
+ * trip however many rows it carries.
+ */
+public final class StatementLog {
+
+    public record Statement(String sql, int batchSize) {
+
+        @Override
+        public String toString() {
+            return batchSize > 1 ? sql + " [batch of " + batchSize + "]" : sql;
+        }
+    }
+
+    private final List<Statement> statements = new ArrayList<>();
+    private long lastRecordedNanos = System.nanoTime();
+
+    synchronized void record(String sql, int batchSize) {
+        statements.add(new Statement(sql, batchSize));
+        lastRecordedNanos = System.nanoTime();
+    }
+
+    /** Returns and forgets everything recorded so far. */
+    public synchronized List<Statement> drain() {
+        List<Statement> drained = new ArrayList<>(statements);
+        statements.clear();
+        return drained;
+    }
+
+    /**
+     * Waits until nothing was recorded for {@code quietPeriod}, so work a request
+     * handed to another thread, like a post-commit event, is counted against it.
+     */
+    public void awaitQuiet(Duration quietPeriod) throws InterruptedException {
+        while (true) {
+            long quietFor;
+            synchronized (this) {
+                quietFor = System.nanoTime() - lastRecordedNanos;
+            }
+            if (quietFor >= quietPeriod.toNanos()) {
+                return;
+            }
+            Thread.sleep(Math.max(1, (quietPeriod.toNanos() - quietFor) / 1_000_000));
+        }
+    }
+
+    /** Distinct statements with how often each ran, most frequent first. */
+    public static Map<String, Integer> countBySql(List<Statement> statements) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        statements.forEach(statement -> counts.merge(statement.toString(), 1, Integer::sum));
+        Map<String, Integer> sorted = new LinkedHashMap<>();
+        counts.entrySet().stream()
+                .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+                .forEachOrdered(entry -> sorted.put(entry.getKey(), entry.getValue()));
+        return sorted;
+    }
+}
@@ -0,0 +1,182 @@
+package com.example.taskmanagement.querybudget;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/** Statement budgets of TaskController. */
+class TaskEndpointsIT extends StatementBudgetTest {
+
+    private String project;
+    private String tasks;
+
+    @BeforeEach
+    void createProject() throws Exception {
+        project = createProject("Budget project");
+        tasks = project + "/tasks";
+    }
+
+    @Test
+    void createTask() throws Exception {
+        // The ownership check, then the insert and the counter update
+        expect(2, 201, () -> api.post(tasks, taskJson("First task")));
+    }
+
+    @Test
+    void applyBatch() throws Exception {
+        String task = createTask(project, "First task");
+        expect(5, 200, () -> api.post(tasks + "/batch", "{\"create\":[" + taskJson("Second task") + ","
+                + taskJson("Third task") + "],\"complete\":[" + idOf(task) + "]}"));
+    }
+
+    @Test
+    void applyBatchCostsTheSameForAnyNumberOfTasks() throws Exception {
+        StringBuilder creates = new StringBuilder();
+        StringBuilder completes = new StringBuilder();
+        for (int i = 0; i < 40; i++) {
+            creates.append(i > 0 ? "," : "").append(taskJson("Batch task " + i));
+            completes.append(i > 0 ? "," : "").append(idOf(createTask(project, "Existing task " + i)));
+        }
+        expect(5, 200, () -> api.post(tasks + "/batch",
+                "{\"create\":[" + creates + "],\"complete\":[" + completes + "]}"));
+    }
+
+    @Test
+    void applyBatchUpdateKeepsFieldsItDoesNotSend() throws Exception {
+        String task = createTask(project, "First task");
+        api.put(task + "/complete", "{}");
+        ApiClient.Response result = expect(5, 200, () -> api.post(tasks + "/batch",
+                "{\"update\":[" + api.json("id", idOf(task), "title", "First task, renamed") + "]}"));
+
+        JsonNode updated = result.body().get("updated").get(0).get("task");
+        assertEquals("First task, renamed", updated.get("title").asText());
+        assertTrue(updated.get("completed").asBoolean());
+        assertTrue(api.get(task).body().get("completed").asBoolean());
+        assertEquals(1, api.get(project + "/progress").body().get("completedTasks").asInt());
+    }
+
+    @Test
+    void applyOversizedBatch() throws Exception {
+        StringBuilder completes = new StringBuilder();
+        for (int i = 0; i <= 500; i++) {
+            completes.append(i > 0 ? "," : "").append(i + 1);
+        }
+        // Refused before the ownership check
+        expect(0, 400, () -> api.post(tasks + "/batch", "{\"complete\":[" + completes + "]}"));
+    }
+
+    @Test
+    void applyBatchToForeignProject() throws Exception {
+        signUpNewUser();
+        expect(1, 404, () -> api.post(tasks + "/batch", "{\"create\":[" + taskJson("Intruder") + "]}"));
+    }
+
+    @Test
+    void getTasks() throws Exception {
+        createTask(project, "First task");
+        createTask(project, "Second task");
+        expect(2, 200, () -> api.get(tasks));
+    }
+
+    @Test
+    void getTasksWithMalformedCursor() throws Exception {
+        createTask(project, "First task");
+        // The project lookup; the cursor is refused before any task is read
+        expect(1, 400, () -> api.get(tasks + "?cursor=not-a-cursor"));
+    }
+
+    @Test
+    void getTasksWithCursorOfAnotherSort() throws Exception {
+        createTask(project, "First task");
+        createTask(project, "Second task");
+        String cursor = api.get(tasks + "?limit=1").body().get("nextCursor").asText();
+        expect(1, 400, () -> api.get(tasks + "?sort=DUE_DATE&cursor=" + cursor));
+    }
+
+    @Test
+    void getTasksNotModified() throws Exception {
+        createTask(project, "First task");
+        String tag = api.get(tasks).eTag();
+        // Only the project, for its tasks version; the page itself is not read
+        ApiClient.Response response = expect(1, 304, () -> api.get(tasks, tag));
+        assertEquals(tag, response.eTag());
+    }
+
+    @Test
+    void getTasksTagChangesWithTheTasks() throws Exception {
+        createTask(project, "First task");
+        String tag = api.get(tasks).eTag();
+        createTask(project, "Second task");
+        ApiClient.Response response = expect(2, 200, () -> api.get(tasks, tag));
+        assertNotEquals(tag, response.eTag());
+        assertEquals(2, response.body().get("items").size());
+    }
+
+    @Test
+    void exportTasks() throws Exception {
+        createTask(project, "First task");
+        // The project, which the insert evicted from the cache, and the only chunk
+        expect(2, 200, () -> api.get(tasks + "/export"));
+    }
+
+    @Test
+    void exportTasksOfForeignProject() throws Exception {
+        createTask(project, "First task");
+        signUpNewUser();
+        expect(1, 404, () -> api.get(tasks + "/export"));
+    }
+
+    @Test
+    void exportTasksOfMissingProject() throws Exception {
+        expect(1, 404, () -> api.get("/api/projects/0/tasks/export?format=CSV"));
+    }
+
+    @Test
+    void getTask() throws Exception {
+        String task = createTask(project, "First task");
+        expect(1, 200, () -> api.get(task));
+    }
+
+    @Test
+    void getTaskNotModified() throws Exception {
+        String task = createTask(project, "First task");
+        String tag = api.get(task).eTag();
+        ApiClient.Response response = expect(1, 304, () -> api.get(task, tag));
+        assertEquals(tag, response.eTag());
+    }
+
+    @Test
+    void updateTask() throws Exception {
+        String task = createTask(project, "First task");
+        expect(3, 200, () -> api.put(task, taskJson("First task, renamed")));
+    }
+
+    @Test
+    void updateTaskWithStaleETag() throws Exception {
+        String task = createTask(project, "First task");
+        String tag = "\"task-" + idOf(task) + "-0\"";
+        api.put(task, taskJson("Renamed elsewhere"));
+        // Only the lookup; the write is refused with 412
+        expect(1, 412, () -> api.put(task, taskJson("First task, renamed"), tag));
+    }
+
+    @Test
+    void completeTask() throws Exception {
+        String task = createTask(project, "First task");
+        expect(3, 200, () -> api.put(task + "/complete", "{}"));
+    }
+
+    @Test
+    void deleteTask() throws Exception {
+        String task = createTask(project, "First task");
+        expect(3, 204, () -> api.delete(task));
+    }
+
+    private static long idOf(String path) {
+        return Long.parseLong(path.substring(path.lastIndexOf('/') + 1));
+    }
+}
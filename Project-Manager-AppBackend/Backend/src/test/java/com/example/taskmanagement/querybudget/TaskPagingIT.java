@@ -0,0 +1,114 @@
+package com.example.taskmanagement.querybudget;
+
+import com.example.taskmanagement.dto.TaskCursor;
+import com.example.taskmanagement.model.enums.Priority;
+import com.example.taskmanagement.model.enums.TaskStatus;
+import com.fasterxml.jackson.databind.JsonNode;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Keyset paging of the task listing: walking every page of a small limit must yield
+ * each matching task exactly once, in the sort order, across ties and missing keys.
+ */
+class TaskPagingIT extends StatementBudgetTest {
+
+    private record Expected(long id, LocalDate dueDate, Priority priority, boolean completed, TaskStatus status) {
+    }
+
+    private static final int TASKS = 23;
+
+    private String tasks;
+    private final List<Expected> created = new ArrayList<>();
+
+    @BeforeEach
+    void createTasks() throws Exception {
+        tasks = createProject("Paged project") + "/tasks";
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            Map<String, Object> task = new LinkedHashMap<>();
+            task.put("title", "Task " + i);
+            // Few distinct keys, so pages break inside runs of ties, and some tasks without one
+            if (i % 4 != 3) {
+                task.put("dueDate", LocalDate.of(2026, 1, 1 + i % 3).toString());
+            }
+            if (i % 5 != 4) {
+                task.put("priority", Priority.values()[i % 4].name());
+            }
+            task.put("completed", i % 3 == 0);
+            task.put("status", (i % 2 == 0 ? TaskStatus.TODO : TaskStatus.IN_PROGRESS).name());
+            items.add(task);
+        }
+        JsonNode result = api.post(tasks + "/batch", api.json("create", items)).body();
+        for (int i = 0; i < TASKS; i++) {
+            JsonNode task = result.get("created").get(i).get("task");
+            created.add(new Expected(task.get("id").asLong(),
+                    task.get("dueDate").isNull() ? null : LocalDate.parse(task.get("dueDate").asText()),
+                    task.get("priority").isNull() ? null : Priority.valueOf(task.get("priority").asText()),
+                    task.get("completed").asBoolean(),
+                    TaskStatus.valueOf(task.get("status").asText())));
+        }
+    }
+
+    @Test
+    void pagesCoverEveryTaskInEachSortOrder() throws Exception {
+        for (TaskCursor.Sort sort : TaskCursor.Sort.values()) {
+            for (int limit : new int[] {1, 2, 5}) {
+                assertEquals(expected(sort, task -> true), walk("sort=" + sort, limit),
+                        "sort " + sort + ", limit " + limit);
+            }
+        }
+    }
+
+    @Test
+    void pagesCoverEveryMatchingTaskWithFilters() throws Exception {
+        for (TaskCursor.Sort sort : TaskCursor.Sort.values()) {
+            assertEquals(expected(sort, task -> !task.completed() && task.status() == TaskStatus.TODO),
+                    walk("sort=" + sort + "&completed=false&status=TODO", 2), "sort " + sort);
+            assertEquals(expected(sort, task -> task.priority() == Priority.LOW
+                            && task.dueDate() != null && !task.dueDate().isAfter(LocalDate.of(2026, 1, 2))),
+                    walk("sort=" + sort + "&priority=LOW&dueTo=2026-01-02", 2), "sort " + sort);
+        }
+    }
+
+    private List<Long> walk(String query, int limit) throws Exception {
+        List<Long> ids = new ArrayList<>();
+        Set<String> cursors = new HashSet<>();
+        String cursor = null;
+        do {
+            JsonNode page = api.get(tasks + "?" + query + "&limit=" + limit
+                    + (cursor != null ? "&cursor=" + cursor : "")).body();
+            assertTrue(page.get("items").size() <= limit);
+            page.get("items").forEach(task -> ids.add(task.get("id").asLong()));
+            cursor = page.get("nextCursor").isNull() ? null : page.get("nextCursor").asText();
+            assertTrue(cursor == null || cursors.add(cursor), () -> "Cursor repeated after " + ids);
+        } while (cursor != null && ids.size() <= TASKS);
+        return ids;
+    }
+
+    private List<Long> expected(TaskCursor.Sort sort, Predicate<Expected> filter) {
+        Comparator<Expected> byId = Comparator.comparingLong(Expected::id);
+        Comparator<Expected> order = switch (sort) {
+            case ID -> byId;
+            case DUE_DATE -> Comparator.comparing(Expected::dueDate,
+                    Comparator.nullsLast(Comparator.<LocalDate>naturalOrder())).thenComparing(byId);
+            case PRIORITY -> Comparator.comparing((Expected task) -> task.priority() != null
+                    ? task.priority().getRank() : null, Comparator.nullsLast(Comparator.<Integer>naturalOrder()))
+                    .thenComparing(byId);
+        };
+        return created.stream().filter(filter).sorted(order).map(Expected::id).toList();
+    }
+}
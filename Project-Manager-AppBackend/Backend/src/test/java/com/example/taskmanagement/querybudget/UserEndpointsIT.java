@@ -0,0 +1,29 @@
+package com.example.taskmanagement.querybudget;
+
+import org.junit.jupiter.api.Test;
+
+/** Statement budgets of UserController. */
+class UserEndpointsIT extends StatementBudgetTest {
+
+    @Test
+    void getCurrentUser() throws Exception {
+        // The principal and the user come from caches
+        expect(0, 200, () -> api.get("/api/users/me"));
+    }
+
+    @Test
+    void updateCurrentUser() throws Exception {
+        expect(1, 200, () -> api.put("/api/users/me", api.json("name", "Renamed")));
+    }
+
+    @Test
+    void deleteCurrentUser() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            String project = createProject("Project " + i);
+            createTask(project, "First task");
+            createTask(project, "Second task");
+        }
+        // The task totals of the user's projects, then one delete that cascades to them
+        expect(2, 204, () -> api.delete("/api/users/me"));
+    }
+}
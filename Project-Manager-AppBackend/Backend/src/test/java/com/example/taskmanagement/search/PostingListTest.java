@@ -0,0 +1,56 @@
+package com.example.taskmanagement.search;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PostingListTest {
+
+    @Test
+    void keepsKeysSortedAndDistinct() {
+        PostingList postings = new PostingList("task");
+        for (long key : new long[] {8, 2, 10, 4, 2, 6, 10}) {
+            postings.add(key);
+        }
+
+        assertArrayEquals(new long[] {2, 4, 6, 8, 10}, postings.toArray());
+        assertEquals("task", postings.term());
+    }
+
+    @Test
+    void removesOneKey() {
+        PostingList postings = new PostingList("task", new long[] {2, 4, 6});
+
+        assertTrue(postings.remove(4));
+        assertFalse(postings.remove(4));
+        assertArrayEquals(new long[] {2, 6}, postings.toArray());
+    }
+
+    @Test
+    void removesEveryListedKey() {
+        PostingList postings = new PostingList("task");
+        for (long key = 0; key < 100; key++) {
+            postings.add(key);
+        }
+
+        assertTrue(postings.removeAll(new long[] {-1, 0, 50, 99, 200}));
+        assertFalse(postings.removeAll(new long[] {0, 50}));
+        assertEquals(97, postings.size());
+        assertEquals(1, postings.get(0));
+        assertEquals(98, postings.get(postings.size() - 1));
+    }
+
+    @Test
+    void toArrayIsACopy() {
+        PostingList postings = new PostingList("task", new long[] {2, 4});
+        long[] copy = postings.toArray();
+
+        postings.add(6);
+        postings.remove(2);
+
+        assertArrayEquals(new long[] {2, 4}, copy);
+    }
+}
@@ -0,0 +1,137 @@
+package com.example.taskmanagement.search;
+
+import com.example.taskmanagement.search.SearchIndex.Kind;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchIndexTest {
+
+    private static final long ALICE = 1;
+    private static final long BOB = 2;
+
+    private final SearchIndex index = new SearchIndex();
+
+    @Test
+    void findsDocumentsWithEveryTermNewestFirst() {
+        index.addTask(ALICE, 1, "Write report", "quarterly numbers");
+        index.addTask(ALICE, 2, "Review report", null);
+        index.addTask(ALICE, 3, "Write tests", null);
+
+        assertArrayEquals(ids(3, 1), search(ALICE, List.of("write"), false, Kind.TASK));
+        assertArrayEquals(ids(1), search(ALICE, List.of("write", "report"), false, Kind.TASK));
+        assertArrayEquals(ids(2, 1), search(ALICE, List.of("rep"), true, Kind.TASK));
+        assertArrayEquals(ids(), search(ALICE, List.of("rep"), false, Kind.TASK));
+    }
+
+    @Test
+    void seesOnlyTheOwnersDocumentsOfTheKindAsked() {
+        index.addTask(ALICE, 1, "Launch", null);
+        index.addProject(ALICE, 5, "Launch", "plan");
+        index.addTask(BOB, 2, "Launch", null);
+
+        assertArrayEquals(ids(1), search(ALICE, List.of("launch"), false, Kind.TASK));
+        assertArrayEquals(ids(5), search(ALICE, List.of("launch"), false, Kind.PROJECT));
+        assertArrayEquals(ids(2), search(BOB, List.of("launch"), false, Kind.TASK));
+        assertEquals(ALICE, index.ownerOf(5L));
+    }
+
+    @Test
+    void reindexingReplacesTheDocumentsTerms() {
+        index.addTask(ALICE, 1, "Old title", null);
+        index.addTask(ALICE, 2, "Old notes", null);
+
+        index.putTask(ALICE, 1, "New title", null);
+
+        assertArrayEquals(ids(2), search(ALICE, List.of("old"), false, Kind.TASK));
+        assertArrayEquals(ids(1), search(ALICE, List.of("new"), false, Kind.TASK));
+        // old twice, title, notes, new
+        assertEquals(4, index.postingCount());
+    }
+
+    @Test
+    void reindexingToNoTermsRemovesTheDocument() {
+        index.addTask(ALICE, 1, "Title", null);
+
+        index.putTask(ALICE, 1, "", null);
+        index.putTask(ALICE, 1, "Title again", null);
+
+        assertArrayEquals(ids(1), search(ALICE, List.of("title", "again"), false, Kind.TASK));
+        assertEquals(2, index.postingCount());
+    }
+
+    @Test
+    void removesTasksAndDropsTermsLeftEmpty() {
+        index.addTask(ALICE, 1, "Shared unique", null);
+        index.addTask(ALICE, 2, "Shared", null);
+        index.addTask(ALICE, 3, "Shared", null);
+
+        index.removeTasks(ALICE, List.of(1L, 3L, 99L));
+
+        assertArrayEquals(ids(2), search(ALICE, List.of("shared"), false, Kind.TASK));
+        assertArrayEquals(ids(), search(ALICE, List.of("unique"), false, Kind.TASK));
+        assertEquals(1, index.postingCount());
+    }
+
+    @Test
+    void removesAProjectWithItsTasks() {
+        index.addProject(ALICE, 5, "Launch", null);
+        index.addTask(ALICE, 1, "Launch day", null);
+        index.addProject(ALICE, 6, "Launch again", null);
+
+        index.removeProject(ALICE, 5, List.of(1L));
+
+        assertArrayEquals(ids(6), search(ALICE, List.of("launch"), false, Kind.PROJECT));
+        assertArrayEquals(ids(), search(ALICE, List.of("launch"), false, Kind.TASK));
+        assertEquals(null, index.ownerOf(5L));
+    }
+
+    @Test
+    void snapshotRestoresPostingsAndDocuments() throws IOException {
+        index.addProject(ALICE, 5, "Launch", "plan");
+        index.addTask(ALICE, 1, "Launch day", null);
+        index.addTask(BOB, 2, "Other", null);
+
+        SearchIndex restored = roundTrip(index);
+
+        assertArrayEquals(ids(1), search(restored, ALICE, List.of("launch", "day"), false, Kind.TASK));
+        assertEquals(ALICE, restored.ownerOf(5L));
+        assertEquals(index.postingCount(), restored.postingCount());
+        // The per-document lists come back too, so a restored document can still be replaced
+        restored.putTask(ALICE, 1, "Moved", null);
+        assertArrayEquals(ids(), search(restored, ALICE, List.of("day"), false, Kind.TASK));
+        restored.removeProject(ALICE, 5, List.of(1L));
+        assertEquals(1, restored.postingCount());
+    }
+
+    private long[] search(long userId, List<String> terms, boolean prefix, Kind kind) {
+        return search(index, userId, terms, prefix, kind);
+    }
+
+    private static long[] search(SearchIndex index, long userId, List<String> terms, boolean prefix, Kind kind) {
+        long[] keys = index.search(userId, terms, prefix, kind, 10);
+        long[] ids = new long[keys.length];
+        for (int i = 0; i < keys.length; i++) {
+            ids[i] = SearchIndex.idOf(keys[i]);
+        }
+        return ids;
+    }
+
+    private static long[] ids(long... ids) {
+        return ids;
+    }
+
+    private static SearchIndex roundTrip(SearchIndex index) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        index.writeTo(new DataOutputStream(bytes));
+        return SearchIndex.readFrom(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+}
@@ -0,0 +1,153 @@
+package com.example.taskmanagement.security;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RateLimiterTest {
+
+    private static final long SECOND = 1_000_000;
+    private static final long CLIENT = 42;
+
+    @Test
+    void allowsABurstOfCapacityThenRefuses() {
+        RateLimiter limiter = new RateLimiter(3, 1, 100);
+
+        assertEquals(SECOND, limiter.acquire(CLIENT, 0));
+        assertEquals(2 * SECOND, limiter.acquire(CLIENT, 0));
+        assertEquals(3 * SECOND, limiter.acquire(CLIENT, 0));
+        assertEquals(0, limiter.remaining(3 * SECOND));
+        assertEquals(-SECOND, limiter.acquire(CLIENT, 0));
+    }
+
+    @Test
+    void refillsOneTokenPerInterval() {
+        RateLimiter limiter = new RateLimiter(3, 1, 100);
+        for (int i = 0; i < 3; i++) {
+            limiter.acquire(CLIENT, 0);
+        }
+
+        assertEquals(3 * SECOND, limiter.acquire(CLIENT, SECOND));
+        assertTrue(limiter.acquire(CLIENT, SECOND) < 0);
+        // Full again after the whole burst: the next request leaves two tokens
+        long untilFull = limiter.acquire(CLIENT, 10 * SECOND);
+        assertEquals(SECOND, untilFull);
+        assertEquals(2, limiter.remaining(untilFull));
+    }
+
+    @Test
+    void refusalSaysExactlyHowLongToWait() {
+        RateLimiter limiter = new RateLimiter(2, 4, 100);
+        long interval = SECOND / 4;
+        limiter.acquire(CLIENT, 0);
+        limiter.acquire(CLIENT, 0);
+
+        long wait = -limiter.acquire(CLIENT, 100);
+        assertEquals(interval - 100, wait);
+        assertEquals(2 * interval - 100, limiter.untilFullAfterRejection(wait));
+        assertTrue(limiter.acquire(CLIENT, 100 + wait - 1) < 0);
+        assertEquals(2 * interval, limiter.acquire(CLIENT, 100 + wait));
+    }
+
+    @Test
+    void keepsClientsApart() {
+        RateLimiter limiter = new RateLimiter(1, 1, 100);
+
+        assertTrue(limiter.acquire(1, 0) > 0);
+        assertTrue(limiter.acquire(2, 0) > 0);
+        assertTrue(limiter.acquire(1, 0) < 0);
+        assertTrue(limiter.acquire(Long.MIN_VALUE | 1, 0) > 0);
+    }
+
+    @Test
+    void evictingABusyBucketHandsOverWhatItOwes() {
+        // Eight slots of two tokens: sixteen tokens at one instant, however many clients ask
+        RateLimiter limiter = new RateLimiter(2, 1, 1);
+        int granted = 0;
+        for (long client = 1; client <= 1000; client++) {
+            if (limiter.acquire(client, 0) > 0) {
+                granted++;
+            }
+        }
+
+        assertTrue(granted <= 16, "Granted " + granted + " tokens");
+        assertTrue(limiter.evictions() > 0);
+    }
+
+    @Test
+    void refilledBucketsAreFreeSlots() {
+        RateLimiter limiter = new RateLimiter(2, 1, 1);
+        for (long client = 1; client <= 1000; client++) {
+            limiter.acquire(client, 0);
+        }
+        long evictions = limiter.evictions();
+
+        // Each new client comes once every bucket has refilled: it starts full and evicts nobody
+        for (long client = 1001; client <= 2000; client++) {
+            assertEquals(SECOND, limiter.acquire(client, client * 3 * SECOND));
+        }
+        assertEquals(evictions, limiter.evictions());
+    }
+
+    @Test
+    void concurrentRequestsOfANewClientShareOneBucket() throws InterruptedException {
+        int capacity = 1000;
+        int threads = 8;
+        // One token an hour: nothing refills while the threads run
+        RateLimiter limiter = new RateLimiter(capacity, 1 / 3600.0, 100);
+        for (long client = 1; client <= 100; client++) {
+            long key = client;
+            assertEquals(capacity, run(threads, 2 * capacity / threads, () -> limiter.acquire(key, 0) > 0),
+                    "Tokens granted to client " + client);
+        }
+    }
+
+    @Test
+    void concurrentClientsInAFullTableNeverGetMoreThanItHolds() throws InterruptedException {
+        // Eight slots of ten tokens, fought over by many more clients than fit
+        RateLimiter limiter = new RateLimiter(10, 1 / 3600.0, 1);
+        AtomicInteger next = new AtomicInteger();
+        int granted = run(8, 5000, () -> limiter.acquire(1 + next.getAndIncrement() % 50, 0) > 0);
+
+        assertTrue(granted <= 80, () -> "Granted " + granted + " tokens");
+    }
+
+    /** Runs {@code perThread} calls on each thread, all starting together; returns how many returned true. */
+    private static int run(int threads, int perThread, Call call) throws InterruptedException {
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger succeeded = new AtomicInteger();
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Thread worker = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < perThread; i++) {
+                    if (call.succeeded()) {
+                        succeeded.incrementAndGet();
+                    }
+                }
+            });
+            worker.start();
+            workers.add(worker);
+        }
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        return succeeded.get();
+    }
+
+    @FunctionalInterface
+    private interface Call {
+        boolean succeeded();
+    }
+}
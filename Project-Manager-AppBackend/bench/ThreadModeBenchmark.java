@@ -0,0 +1,183 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Closed-model load against a running backend: {@code clients} concurrent virtual
+ * threads each loop over a read-heavy mix (task page 70%, progress 20%, task
+ * create 10%) for a fixed duration, then throughput and latency percentiles are
+ * printed as one JSON line per concurrency level. Needs Java 21, no dependencies:
+ *
+ *   java ThreadModeBenchmark.java --label platform --clients 1000,5000,10000
+ */
+public class ThreadModeBenchmark {
+
+    private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+    private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+
+    private record Account(String token, long projectId) {
+    }
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = option(args, "--base-url", "http://localhost:8080");
+        String label = option(args, "--label", "unlabelled");
+        int[] levels = Arrays.stream(option(args, "--clients", "1000,2000,5000,10000").split(","))
+                .mapToInt(Integer::parseInt).toArray();
+        Duration duration = Duration.parse(option(args, "--duration", "PT30S"));
+        Duration warmup = Duration.parse(option(args, "--warmup", "PT5S"));
+        int users = Integer.parseInt(option(args, "--users", "50"));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(10))
+                .build();
+        List<Account> accounts = seed(client, baseUrl, users);
+
+        for (int clients : levels) {
+            run(client, baseUrl, accounts, clients, warmup, false);
+            Result result = run(client, baseUrl, accounts, clients, duration, true);
+            System.out.printf(
+                    "{\"label\":\"%s\",\"clients\":%d,\"requests\":%d,\"errors\":%d,\"throughput\":%.1f,"
+                            + "\"p50Ms\":%.2f,\"p90Ms\":%.2f,\"p99Ms\":%.2f,\"maxMs\":%.2f}%n",
+                    label, clients, result.requests, result.errors,
+                    result.requests / (duration.toMillis() / 1000.0),
+                    result.percentileMs(50), result.percentileMs(90), result.percentileMs(99), result.percentileMs(100));
+        }
+    }
+
+    private static List<Account> seed(HttpClient client, String baseUrl, int users) throws Exception {
+        List<Account> accounts = new ArrayList<>();
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        for (int i = 0; i < users; i++) {
+            String credentials = "{\"email\":\"bench-" + run + "-" + i + "@example.com\",\"password\":\"bench-password\"}";
+            send(client, post(baseUrl + "/auth/register", null, credentials));
+            String token = extract(ACCESS_TOKEN, send(client, post(baseUrl + "/auth/login", null, credentials)).body());
+            long projectId = Long.parseLong(extract(ID, send(client,
+                    post(baseUrl + "/api/projects", token, "{\"title\":\"Bench " + i + "\"}")).body()));
+            for (int t = 0; t < 20; t++) {
+                send(client, post(baseUrl + "/api/projects/" + projectId + "/tasks", token,
+                        "{\"title\":\"Task " + t + "\",\"completed\":" + (t % 3 == 0) + "}"));
+            }
+            accounts.add(new Account(token, projectId));
+        }
+        return accounts;
+    }
+
+    private static Result run(HttpClient client, String baseUrl, List<Account> accounts,
+                              int clients, Duration duration, boolean record) throws InterruptedException {
+        long deadline = System.nanoTime() + duration.toNanos();
+        AtomicLong errors = new AtomicLong();
+        long[][] latencies = new long[clients][];
+        int[] counts = new int[clients];
+        Thread[] threads = new Thread[clients];
+        for (int c = 0; c < clients; c++) {
+            int slot = c;
+            Account account = accounts.get(c % accounts.size());
+            threads[c] = Thread.ofVirtual().start(() -> {
+                long[] samples = new long[256];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        int status = send(client, nextRequest(baseUrl, account)).statusCode();
+                        if (status >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (record) {
+                        if (count == samples.length) {
+                            samples = Arrays.copyOf(samples, count * 2);
+                        }
+                        samples[count++] = System.nanoTime() - start;
+                    }
+                }
+                latencies[slot] = samples;
+                counts[slot] = count;
+            });
+        }
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        int total = Arrays.stream(counts).sum();
+        long[] all = new long[total];
+        int offset = 0;
+        for (int c = 0; c < clients; c++) {
+            System.arraycopy(latencies[c], 0, all, offset, counts[c]);
+            offset += counts[c];
+        }
+        Arrays.sort(all);
+        return new Result(total, errors.get(), all);
+    }
+
+    private static HttpRequest nextRequest(String baseUrl, Account account) {
+        String project = baseUrl + "/api/projects/" + account.projectId();
+        int roll = ThreadLocalRandom.current().nextInt(100);
+        if (roll < 70) {
+            return get(project + "/tasks?limit=50", account.token());
+        }
+        if (roll < 90) {
+            return get(project + "/progress", account.token());
+        }
+        return post(project + "/tasks", account.token(), "{\"title\":\"Load\"}");
+    }
+
+    private static HttpRequest get(String url, String token) {
+        return HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+    }
+
+    private static HttpRequest post(String url, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url))
+                .timeout(Duration.ofSeconds(60))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private static HttpResponse<String> send(HttpClient client, HttpRequest request) throws Exception {
+        return client.send(request, HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static String extract(Pattern pattern, String body) {
+        Matcher matcher = pattern.matcher(body);
+        if (!matcher.find()) {
+            throw new IllegalStateException("Unexpected response: " + body);
+        }
+        return matcher.group(1);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+
+    private record Result(long requests, long errors, long[] sortedNanos) {
+        double percentileMs(double percentile) {
+            if (sortedNanos.length == 0) {
+                return 0;
+            }
+            int index = (int) Math.ceil(percentile / 100.0 * sortedNanos.length) - 1;
+            return sortedNanos[Math.max(0, Math.min(index, sortedNanos.length - 1))] / 1_000_000.0;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+#!/usr/bin/env bash
+# Builds the backend and the benchmarks, then runs every benchmark (or those
+# matching the JMH arguments given, e.g. "Jwt" or "-p size=100") and writes the
+# results to results/<commit>.json. Compare two runs with:
+#   java -cp target/benchmarks.jar com.example.taskmanagement.benchmark.CompareResults \
+#       results/<old>.json results/<new>.json
+set -euo pipefail
+
+cd "$(dirname "$0")"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+COMMIT=$(git rev-parse --short HEAD)$(git diff --quiet HEAD -- ../../Backend || echo -dirty)
+
+(cd ../../Backend && mvn -B -q -DskipTests install)
+mvn -B -q package
+
+mkdir -p results
+"$JAVA" -jar target/benchmarks.jar -rff "results/$COMMIT.json" "$@"
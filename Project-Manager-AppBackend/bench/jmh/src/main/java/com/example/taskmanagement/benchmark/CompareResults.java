@@ -0,0 +1,73 @@
+package com.example.taskmanagement.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Prints a side-by-side comparison of two JMH JSON result files, e.g. the results
+ * of two commits: score and allocated bytes per operation for every benchmark and
+ * parameter combination present in both, with the relative change.
+ *
+ * <pre>java -cp target/benchmarks.jar com.example.taskmanagement.benchmark.CompareResults OLD.json NEW.json</pre>
+ */
+public final class CompareResults {
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private CompareResults() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2) {
+            System.err.println("Usage: CompareResults <baseline.json> <candidate.json>");
+            System.exit(2);
+        }
+        Map<String, JsonNode> baseline = read(new File(args[0]));
+        Map<String, JsonNode> candidate = read(new File(args[1]));
+
+        System.out.printf("%-70s %14s %14s %8s %12s %12s %8s%n",
+                "Benchmark", "Old score", "New score", "Change", "Old B/op", "New B/op", "Change");
+        for (Map.Entry<String, JsonNode> entry : candidate.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            if (before == null) {
+                continue;
+            }
+            JsonNode after = entry.getValue();
+            double oldScore = before.path("primaryMetric").path("score").asDouble();
+            double newScore = after.path("primaryMetric").path("score").asDouble();
+            double oldBytes = allocation(before);
+            double newBytes = allocation(after);
+            System.out.printf("%-70s %14.3f %14.3f %7.1f%% %12.0f %12.0f %7.1f%%  %s%n",
+                    entry.getKey(), oldScore, newScore, change(oldScore, newScore),
+                    oldBytes, newBytes, change(oldBytes, newBytes),
+                    after.path("primaryMetric").path("scoreUnit").asText());
+        }
+    }
+
+    /** Results keyed by benchmark name plus its parameters, in file order. */
+    private static Map<String, JsonNode> read(File file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file)) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText()
+                    .replace("com.example.taskmanagement.", ""));
+            result.path("params").fields().forEachRemaining(param ->
+                    key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText()));
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION);
+        return metric.isMissingNode() ? Double.NaN : metric.path("score").asDouble();
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? Double.NaN : (after - before) * 100 / before;
+    }
+}
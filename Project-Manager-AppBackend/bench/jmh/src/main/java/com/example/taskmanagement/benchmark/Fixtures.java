@@ -0,0 +1,118 @@
+package com.example.taskmanagement.benchmark;
+
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.example.taskmanagement.model.enums.Priority;
+import com.example.taskmanagement.model.enums.TaskStatus;
+import com.example.taskmanagement.security.JwtTokenProvider;
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Objects shared by the benchmarks, built the way the running application builds
+ * them. Generated data depends only on the seed, so every run measures the same input.
+ */
+public final class Fixtures {
+
+    public static final long SEED = 42;
+
+    /** Same values as {@code application.properties}. */
+    public static final String JWT_SECRET = "your-secret-key-please-change-this-in-production";
+    public static final long JWT_EXPIRATION_MS = 86400000;
+
+    private static final Priority[] PRIORITIES = Priority.values();
+    private static final TaskStatus[] STATUSES = TaskStatus.values();
+    private static final LocalDate TODAY = LocalDate.of(2024, 1, 1);
+
+    private Fixtures() {
+    }
+
+    /** Mirrors Spring Boot's defaults plus the {@code spring.jackson.*} settings of the application. */
+    public static ObjectMapper objectMapper() {
+        return Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS,
+                        SerializationFeature.WRITE_DURATIONS_AS_TIMESTAMPS,
+                        DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES,
+                        MapperFeature.AUTO_DETECT_GETTERS,
+                        MapperFeature.AUTO_DETECT_SETTERS)
+                .featuresToEnable(MapperFeature.AUTO_DETECT_FIELDS)
+                .visibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.ANY)
+                .build();
+    }
+
+    public static JwtTokenProvider jwtTokenProvider() {
+        JwtTokenProvider provider = new JwtTokenProvider();
+        ReflectionTestUtils.setField(provider, "jwtSecret", JWT_SECRET);
+        ReflectionTestUtils.setField(provider, "jwtExpirationInMs", JWT_EXPIRATION_MS);
+        provider.init();
+        return provider;
+    }
+
+    public static User user(long id) {
+        User user = new User();
+        user.setId(id);
+        user.setVersion(0L);
+        user.setEmail("user" + id + "@example.com");
+        user.setName("User " + id);
+        user.setPassword("not-checked-by-the-benchmarks");
+        return user;
+    }
+
+    public static List<Project> projects(int count, User owner) {
+        Random random = new Random(SEED);
+        List<Project> projects = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Project project = new Project();
+            project.setId((long) i + 1);
+            project.setVersion(0L);
+            project.setTitle("Project " + (i + 1));
+            project.setDescription(text(random, 20, 200));
+            project.setUser(owner);
+            projects.add(project);
+        }
+        return projects;
+    }
+
+    /** Titles, descriptions and due dates vary in length and presence like real input. */
+    public static List<Task> tasks(int count, Project project) {
+        Random random = new Random(SEED);
+        List<Task> tasks = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setVersion(0L);
+            task.setTitle(text(random, 5, 60));
+            task.setDescription(random.nextInt(4) == 0 ? null : text(random, 0, 500));
+            task.setDueDate(random.nextBoolean() ? TODAY.plusDays(random.nextInt(365)) : null);
+            task.setPriority(PRIORITIES[random.nextInt(PRIORITIES.length)]);
+            task.setStatus(STATUSES[random.nextInt(STATUSES.length)]);
+            task.setCompleted(task.getStatus() == TaskStatus.DONE);
+            task.setProject(project);
+            tasks.add(task);
+        }
+        return tasks;
+    }
+
+    private static String text(Random random, int minLength, int maxLength) {
+        int length = minLength + random.nextInt(maxLength - minLength + 1);
+        StringBuilder text = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            // Mostly lower-case words, with the odd character that needs JSON escaping
+            int c = random.nextInt(32);
+            text.append(c < 26 ? (char) ('a' + c) : c < 30 ? ' ' : c == 30 ? '"' : '\n');
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,81 @@
+package com.example.taskmanagement.dto;
+
+import com.example.taskmanagement.benchmark.Fixtures;
+import com.example.taskmanagement.model.Project;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.model.User;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity-to-DTO mapping and the JSON rendering of the task page and project list
+ * responses, for lists of {@code size} elements. Serialization is measured on
+ * pre-mapped DTOs so the two costs can be told apart.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class DtoMappingBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<Project> projects;
+    private TaskPageDTO taskPage;
+    private List<ProjectDTO> projectDtos;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        User owner = Fixtures.user(1);
+        projects = Fixtures.projects(size, owner);
+        tasks = Fixtures.tasks(size, projects.get(0));
+        taskPage = new TaskPageDTO(mapTasks(), "eyJpZCI6MTAwMH0");
+        projectDtos = mapProjects();
+    }
+
+    @Benchmark
+    public List<TaskDTO> mapTasks() {
+        return tasks.stream().map(TaskDTO::from).toList();
+    }
+
+    @Benchmark
+    public List<ProjectDTO> mapProjects() {
+        return projects.stream().map(ProjectDTO::from).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeTaskPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(taskPage);
+    }
+
+    @Benchmark
+    public byte[] serializeProjects() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(projectDtos);
+    }
+
+    /** What {@code GET /api/projects/{id}/tasks} does after the query returns. */
+    @Benchmark
+    public byte[] mapAndSerializeTaskPage() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(new TaskPageDTO(mapTasks(), "eyJpZCI6MTAwMH0"));
+    }
+}
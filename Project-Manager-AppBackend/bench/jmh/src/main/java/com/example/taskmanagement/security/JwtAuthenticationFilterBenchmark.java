@@ -0,0 +1,97 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.benchmark.Fixtures;
+import com.example.taskmanagement.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request overhead of {@link JwtAuthenticationFilter} with the application's
+ * {@link AuthenticationCache}, whose user lookup is stubbed so no database is involved.
+ * After the first invocation an authenticated request is served from the caches,
+ * which is the steady state for a client reusing its token. The revocation list
+ * holds {@link #REVOKED} other tokens expiring in the same hour, so every request
+ * goes through its Bloom filter.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class JwtAuthenticationFilterBenchmark {
+
+    private static final int REVOKED = 10_000;
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    private JwtAuthenticationFilter filter;
+    private MockHttpServletRequest authenticatedRequest;
+    private MockHttpServletRequest anonymousRequest;
+    private MockHttpServletResponse response;
+
+    @Setup
+    public void setUp() {
+        JwtTokenProvider tokenProvider = Fixtures.jwtTokenProvider();
+        User user = Fixtures.user(1);
+        // Never touches its repository: nothing is loaded, synced or revoked through it
+        TokenRevocationList revocationList = new TokenRevocationList(null, 50000, new SimpleMeterRegistry());
+        Random random = new Random(Fixtures.SEED);
+        Instant expiry = Instant.now().plusMillis(Fixtures.JWT_EXPIRATION_MS);
+        for (int i = 0; i < REVOKED; i++) {
+            revocationList.add(new UUID(random.nextLong(), random.nextLong()), expiry);
+        }
+        AuthenticationCache authenticationCache = new AuthenticationCache(tokenProvider,
+                username -> user, revocationList, 100000, 10000, Duration.ofMinutes(5), Runnable::run);
+        filter = new JwtAuthenticationFilter(authenticationCache);
+
+        String token = tokenProvider.generateToken(
+                new UsernamePasswordAuthenticationToken(user, null, user.getAuthorities()));
+        authenticatedRequest = new MockHttpServletRequest("GET", "/api/projects");
+        authenticatedRequest.addHeader("Authorization", "Bearer " + token);
+        anonymousRequest = new MockHttpServletRequest("GET", "/api/projects");
+        response = new MockHttpServletResponse();
+    }
+
+    @Benchmark
+    public Authentication authenticated() throws Exception {
+        return filter(authenticatedRequest);
+    }
+
+    @Benchmark
+    public Authentication anonymous() throws Exception {
+        return filter(anonymousRequest);
+    }
+
+    /** The context is cleared after each request, as Spring Security does at the end of the chain. */
+    private Authentication filter(MockHttpServletRequest request) throws Exception {
+        try {
+            filter.doFilterInternal(request, response, NO_OP_CHAIN);
+            return SecurityContextHolder.getContext().getAuthentication();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package com.example.taskmanagement.security;
+
+import com.example.taskmanagement.benchmark.Fixtures;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.servlet.FilterChain;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of rate limiting. {@code acquire} takes a token for a random
+ * one of {@code keys} users, all of which already have a partly used bucket, so it
+ * measures the lookup and compare-and-set in a table of that size, mostly cache
+ * misses. {@code filter} runs {@link RateLimitFilter} for one signed-in user,
+ * headers included. Budgets are large enough that nothing is refused.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class RateLimitFilterBenchmark {
+
+    private static final FilterChain NO_OP_CHAIN = (request, response) -> {
+    };
+
+    @Benchmark
+    public long acquire(KnownUsers users) {
+        return users.limiter.acquire(users.random.nextInt(users.keys) + 1, (System.nanoTime() - users.origin) / 1000);
+    }
+
+    /** The context is set and cleared around each request, as the security filter chain does. */
+    @Benchmark
+    public int filter(SignedInRequest state) throws Exception {
+        SecurityContextHolder.getContext().setAuthentication(state.authentication);
+        try {
+            state.filter.doFilterInternal(state.request, state.response, NO_OP_CHAIN);
+            return state.response.getStatus();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class KnownUsers {
+
+        @Param({"1000000", "4000000"})
+        private int keys;
+
+        private RateLimiter limiter;
+        private SplittableRandom random;
+        private long origin;
+
+        @Setup
+        public void setUp() {
+            limiter = new RateLimiter(1000, 100, keys);
+            origin = System.nanoTime();
+            for (int userId = 1; userId <= keys; userId++) {
+                limiter.acquire(userId, (System.nanoTime() - origin) / 1000);
+            }
+            random = new SplittableRandom(Fixtures.SEED);
+        }
+    }
+
+    @State(Scope.Benchmark)
+    public static class SignedInRequest {
+
+        private RateLimitFilter filter;
+        private Authentication authentication;
+        private MockHttpServletRequest request;
+        private MockHttpServletResponse response;
+
+        @Setup
+        public void setUp() {
+            filter = new RateLimitFilter(true, 100_000_000, 1_000_000, 100_000_000, 1_000_000,
+                    100_000_000, 1_000_000, 1000, new SimpleMeterRegistry());
+            UserPrincipal principal = new UserPrincipal(1L, "user1@example.com", "", List.of());
+            authentication = new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities());
+            request = new MockHttpServletRequest("GET", "/api/projects");
+            response = new MockHttpServletResponse();
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.benchmark.Fixtures;
+import com.example.taskmanagement.dto.ProjectProgressDTO;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The in-memory part of the progress endpoints: building the single-project body
+ * from the counters in {@link ProjectProgressService#toProgress}, building the
+ * {@code projects} rows that the grouped progress query yields, and rendering both.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 2, jvmArgsAppend = {"-Xms512m", "-Xmx512m"})
+@State(Scope.Benchmark)
+public class ProjectProgressBenchmark {
+
+    @Param({"1", "10", "100"})
+    private int projects;
+
+    private ObjectMapper objectMapper;
+    private long[] totals;
+    private long[] completed;
+    private Map<String, Object> progress;
+    private List<ProjectProgressDTO> progressList;
+
+    @Setup
+    public void setUp() {
+        objectMapper = Fixtures.objectMapper();
+        Random random = new Random(Fixtures.SEED);
+        totals = new long[projects];
+        completed = new long[projects];
+        for (int i = 0; i < projects; i++) {
+            totals[i] = random.nextInt(500);
+            completed[i] = totals[i] > 0 ? random.nextInt((int) totals[i] + 1) : 0;
+        }
+        progress = toProgress();
+        progressList = summarize();
+    }
+
+    @Benchmark
+    public Map<String, Object> toProgress() {
+        return ProjectProgressService.toProgress(1L, "Project 1", totals[0], completed[0]);
+    }
+
+    @Benchmark
+    public List<ProjectProgressDTO> summarize() {
+        List<ProjectProgressDTO> rows = new ArrayList<>(projects);
+        for (int i = 0; i < projects; i++) {
+            rows.add(new ProjectProgressDTO((long) i + 1, "Project " + (i + 1), totals[i], completed[i]));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public byte[] serializeProgress() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(progress);
+    }
+
+    @Benchmark
+    public byte[] serializeProgressList() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(progressList);
+    }
+}
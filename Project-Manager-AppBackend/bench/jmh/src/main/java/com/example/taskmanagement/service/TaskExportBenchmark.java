@@ -0,0 +1,118 @@
+package com.example.taskmanagement.service;
+
+import com.example.taskmanagement.benchmark.Fixtures;
+import com.example.taskmanagement.dto.TaskDTO;
+import com.example.taskmanagement.model.Task;
+import com.example.taskmanagement.repository.TaskRepository;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.domain.Pageable;
+
+import java.io.Writer;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Exports of {@code rows} tasks through {@link TaskExportService}, as NDJSON and CSV,
+ * into a writer that discards them. The repository hands out generated chunks, so
+ * this measures the service and not a database. Forks get a 64 MB heap, far less
+ * than ten million tasks take, and report the peak of the old generation during the
+ * export as {@code oldGenPeakMegabytes}: it stays the same for every {@code rows}.
+ * JMH adds that counter up over iterations, so one export per fork is measured.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xms64m", "-Xmx64m", "-XX:+UseG1GC"})
+@State(Scope.Benchmark)
+public class TaskExportBenchmark {
+
+    private static final Writer DISCARDING_WRITER = Writer.nullWriter();
+
+    @Param({"100000", "1000000", "10000000"})
+    private long rows;
+
+    private TaskExportService exportService;
+
+    @Setup
+    public void setUp() {
+        List<Task> tasks = Fixtures.tasks(TaskExportService.CHUNK_SIZE, null);
+        List<TaskDTO> templates = tasks.stream().map(TaskDTO::from).toList();
+        TaskRepository repository = (TaskRepository) Proxy.newProxyInstance(TaskRepository.class.getClassLoader(),
+                new Class<?>[] {TaskRepository.class}, (proxy, method, args) -> {
+                    if (!method.getName().equals("findChunkByProjectId")) {
+                        throw new UnsupportedOperationException(method.getName());
+                    }
+                    return chunk(templates, (Long) args[1], (Pageable) args[2]);
+                });
+        ProjectService projectService = new ProjectService(null, null, null) {
+            @Override
+            public boolean isProjectOwnedByUser(Long projectId, Long userId) {
+                return true;
+            }
+        };
+        exportService = new TaskExportService(repository, projectService, Fixtures.objectMapper());
+    }
+
+    @Benchmark
+    public long ndjson(OldGenPeak peak) throws Exception {
+        return exportService.exportProjectTasks(1L, 1L, TaskExportService.Format.NDJSON, DISCARDING_WRITER);
+    }
+
+    @Benchmark
+    public long csv(OldGenPeak peak) throws Exception {
+        return exportService.exportProjectTasks(1L, 1L, TaskExportService.Format.CSV, DISCARDING_WRITER);
+    }
+
+    /** New DTOs for every row, as the query returns them, with the text of a fixed sample. */
+    private List<TaskDTO> chunk(List<TaskDTO> templates, long afterId, Pageable page) {
+        long end = Math.min(rows, afterId + page.getPageSize());
+        List<TaskDTO> chunk = new ArrayList<>((int) Math.max(0, end - afterId));
+        for (long id = afterId + 1; id <= end; id++) {
+            TaskDTO template = templates.get((int) (id % templates.size()));
+            chunk.add(new TaskDTO(id, template.title(), template.description(), template.completed(),
+                    template.dueDate(), template.priority(), template.status()));
+        }
+        return chunk;
+    }
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class OldGenPeak {
+
+        private final List<MemoryPoolMXBean> oldGeneration = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP && pool.getName().contains("Old Gen"))
+                .toList();
+
+        public double oldGenPeakMegabytes;
+
+        @Setup(Level.Invocation)
+        public void reset() {
+            oldGeneration.forEach(MemoryPoolMXBean::resetPeakUsage);
+        }
+
+        @TearDown(Level.Invocation)
+        public void record() {
+            long peak = oldGeneration.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+            oldGenPeakMegabytes = peak / (1024.0 * 1024.0);
+        }
+    }
+}
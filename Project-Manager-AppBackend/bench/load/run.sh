@@ -0,0 +1,13 @@
+#!/usr/bin/env bash
+# Installs the backend, builds the load harness and runs it with the given options
+# (see LoadTest), comparing the result with baseline.json. Pass --write-baseline to
+# replace the baseline; commit it together with the change that moved the numbers.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+
+(cd ../../Backend && mvn -B -q -DskipTests install)
+mvn -B -q package
+
+"$JAVA" -jar target/load-test.jar "$@"
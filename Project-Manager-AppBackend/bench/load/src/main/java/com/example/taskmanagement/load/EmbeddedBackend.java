@@ -0,0 +1,85 @@
+package com.example.taskmanagement.load;
+
+import com.example.taskmanagement.TaskManagementApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The application booted in this JVM against an in-memory H2 database in
+ * PostgreSQL mode, on a random port. The schema comes from the entity mappings
+ * ({@code ddl-auto=update}) because the Flyway migrations use PostgreSQL-only syntax.
+ * Per-statement logging is off so it does not dominate the measurements.
+ */
+final class EmbeddedBackend implements AutoCloseable {
+
+    private final ConfigurableApplicationContext context;
+    private final String baseUrl;
+    private final InjectedDatabaseLatency databaseLatency;
+
+    private EmbeddedBackend(ConfigurableApplicationContext context, InjectedDatabaseLatency databaseLatency) {
+        this.context = context;
+        this.databaseLatency = databaseLatency;
+        this.baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    /**
+     * {@code extraArgs} are passed on as Spring arguments, e.g. {@code --spring.profiles.active=virtual-threads};
+     * a {@code dbLatency} other than zero is added to every SQL statement from {@link #slowDownDatabase()} on.
+     */
+    static EmbeddedBackend start(String[] extraArgs, Duration dbLatency) {
+        Map<String, Object> properties = new LinkedHashMap<>();
+        properties.put("server.port", 0);
+        properties.put("spring.datasource.url",
+                "jdbc:h2:mem:load;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.flyway.enabled", false);
+        properties.put("spring.jpa.hibernate.ddl-auto", "update");
+        properties.put("spring.jpa.show-sql", false);
+        // The database is gone after the run, so a search snapshot could never be reused
+        properties.put("search.snapshot-path", "");
+        // Every synthetic user registers and signs in from this one address
+        properties.put("security.rate-limit.auth.capacity", 1000);
+        properties.put("logging.level.root", "WARN");
+        properties.put("logging.level.org.springframework.security", "WARN");
+        properties.put("logging.level.com.example", "WARN");
+        properties.put("logging.level.org.hibernate.SQL", "WARN");
+        properties.put("logging.level.org.hibernate.type.descriptor.sql.BasicBinder", "WARN");
+
+        // As command-line arguments, so they override application.properties and extraArgs override them
+        List<String> args = new ArrayList<>();
+        properties.forEach((name, value) -> args.add("--" + name + "=" + value));
+        args.addAll(List.of(extraArgs));
+        SpringApplicationBuilder application = new SpringApplicationBuilder(TaskManagementApplication.class);
+        InjectedDatabaseLatency databaseLatency = dbLatency.isZero() ? null : new InjectedDatabaseLatency(dbLatency);
+        if (databaseLatency != null) {
+            application.initializers(context -> context.getBeanFactory().addBeanPostProcessor(databaseLatency));
+        }
+        ConfigurableApplicationContext context = application.run(args.toArray(String[]::new));
+        return new EmbeddedBackend(context, databaseLatency);
+    }
+
+    /** Turns on the {@code dbLatency} given at start, if any. */
+    void slowDownDatabase() {
+        if (databaseLatency != null) {
+            databaseLatency.activate();
+        }
+    }
+
+    String baseUrl() {
+        return baseUrl;
+    }
+
+    @Override
+    public void close() {
+        context.close();
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.taskmanagement.load;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.function.BiFunction;
+
+/**
+ * Once {@link #activate activated}, makes every SQL statement of the embedded
+ * application take {@code latency} longer, the way a saturated or distant
+ * PostgreSQL would: the statement sleeps while holding its pooled connection.
+ * Used by {@code --db-latency} to put the application under database-bound overload.
+ */
+final class InjectedDatabaseLatency implements BeanPostProcessor {
+
+    private final long latencyMillis;
+    private volatile boolean active;
+
+    InjectedDatabaseLatency(Duration latency) {
+        this.latencyMillis = latency.toMillis();
+    }
+
+    void activate() {
+        active = true;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, result) ->
+                    result instanceof Connection connection ? proxy(Connection.class, connection, this::slowStatement) : result);
+        }
+        return bean;
+    }
+
+    private Object slowStatement(Method method, Object result) {
+        if (result instanceof CallableStatement statement) {
+            return proxy(CallableStatement.class, statement, this::afterDelay);
+        }
+        if (result instanceof PreparedStatement statement) {
+            return proxy(PreparedStatement.class, statement, this::afterDelay);
+        }
+        if (result instanceof Statement statement) {
+            return proxy(Statement.class, statement, this::afterDelay);
+        }
+        return result;
+    }
+
+    // Applied once the statement ran, so the delay comes on top of the real work
+    private Object afterDelay(Method method, Object result) {
+        if (active && method.getName().startsWith("execute")) {
+            try {
+                Thread.sleep(latencyMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        return result;
+    }
+
+    /** {@code onResult} sees every call's result and may replace it. */
+    private static <T> T proxy(Class<T> type, T target, BiFunction<Method, Object, Object> onResult) {
+        return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    switch (method.getName()) {
+                        case "equals":
+                            return proxy == args[0];
+                        case "hashCode":
+                            return System.identityHashCode(proxy);
+                        default:
+                            break;
+                    }
+                    try {
+                        return onResult.apply(method, method.invoke(target, args));
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                }));
+    }
+}
@@ -0,0 +1,164 @@
+package com.example.taskmanagement.load;
+
+import com.example.taskmanagement.load.OpenLoadGenerator.Stats;
+import com.example.taskmanagement.load.Workload.Endpoint;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import org.HdrHistogram.Histogram;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.Iterator;
+import java.util.Map;
+
+/**
+ * Per-endpoint throughput, goodput (successful responses within the latency
+ * objective, per second) and latency percentiles of a measured phase, as a JSON
+ * document whose fields are always written in the same order, so a report checked
+ * in as a baseline shows regressions as a plain diff. {@link #compare} does the same
+ * comparison numerically.
+ */
+final class LoadReport {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final ObjectNode json;
+
+    private LoadReport(ObjectNode json) {
+        this.json = json;
+    }
+
+    static LoadReport of(String label, ObjectNode environment, ObjectNode config, OpenLoadGenerator.Result result) {
+        ObjectNode json = MAPPER.createObjectNode();
+        json.put("label", label);
+        json.set("environment", environment);
+        json.set("config", config);
+
+        double seconds = result.elapsed().toNanos() / 1e9;
+        Histogram total = new Histogram(3);
+        long totalErrors = 0;
+        long totalGood = 0;
+        ObjectNode endpoints = MAPPER.createObjectNode();
+        for (Map.Entry<Endpoint, Stats> entry : result.stats().entrySet()) {
+            Stats stats = entry.getValue();
+            total.add(stats.latencyMicros);
+            totalErrors += stats.errors.get();
+            totalGood += stats.good.get();
+            ObjectNode endpoint = summary(stats.latencyMicros, stats.errors.get(), stats.good.get(), seconds);
+            endpoint.put("route", entry.getKey().getRoute());
+            endpoints.set(entry.getKey().getKey(), endpoint);
+        }
+        ObjectNode overall = summary(total, totalErrors, totalGood, seconds);
+        overall.put("dropped", result.dropped());
+        json.set("total", overall);
+        json.set("endpoints", endpoints);
+        return new LoadReport(json);
+    }
+
+    static LoadReport read(File file) throws IOException {
+        return new LoadReport((ObjectNode) MAPPER.readTree(file));
+    }
+
+    void write(File file) throws IOException {
+        File parent = file.getAbsoluteFile().getParentFile();
+        if (parent != null) {
+            parent.mkdirs();
+        }
+        MAPPER.writeValue(file, json);
+    }
+
+    double goodput() {
+        return json.path("total").path("goodput").asDouble();
+    }
+
+    void print(PrintStream out) {
+        out.printf("%-18s %9s %7s %10s %10s %9s %9s %9s %9s%n",
+                "Endpoint", "Requests", "Errors", "Req/s", "Good/s", "p50 ms", "p99 ms", "p99.9 ms", "max ms");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = json.path("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> endpoint = endpoints.next();
+            printRow(out, endpoint.getKey(), endpoint.getValue());
+        }
+        printRow(out, "total", json.path("total"));
+        if (json.path("total").path("dropped").asLong() > 0) {
+            out.printf("%d arrivals dropped: too many requests in flight%n", json.path("total").path("dropped").asLong());
+        }
+    }
+
+    /**
+     * Prints how every endpoint present in both reports moved and returns whether
+     * any regressed: p99 or p99.9 above the baseline by more than {@code tolerance}
+     * (a fraction), or a higher error ratio.
+     */
+    boolean compare(LoadReport baseline, double tolerance, PrintStream out) {
+        boolean regressed = false;
+        if (!json.path("config").equals(baseline.json.path("config"))) {
+            out.println("Note: the baseline was run with a different configuration: " + baseline.json.path("config"));
+        }
+        out.printf("%-18s %21s %21s %21s %13s%n", "Endpoint", "p50 ms", "p99 ms", "p99.9 ms", "Error ratio");
+        Iterator<Map.Entry<String, JsonNode>> endpoints = json.path("endpoints").fields();
+        while (endpoints.hasNext()) {
+            Map.Entry<String, JsonNode> endpoint = endpoints.next();
+            JsonNode before = baseline.json.path("endpoints").path(endpoint.getKey());
+            if (before.isMissingNode()) {
+                continue;
+            }
+            JsonNode after = endpoint.getValue();
+            boolean slower = grew(before, after, "p99Ms", tolerance) || grew(before, after, "p999Ms", tolerance);
+            boolean failing = errorRatio(after) > errorRatio(before);
+            out.printf("%-18s %21s %21s %21s %6.4f->%.4f %s%n", endpoint.getKey(),
+                    change(before, after, "p50Ms"), change(before, after, "p99Ms"), change(before, after, "p999Ms"),
+                    errorRatio(before), errorRatio(after), slower || failing ? "REGRESSION" : "");
+            regressed |= slower || failing;
+        }
+        return regressed;
+    }
+
+    private static ObjectNode summary(Histogram latencyMicros, long errors, long good, double seconds) {
+        ObjectNode summary = MAPPER.createObjectNode();
+        summary.put("requests", latencyMicros.getTotalCount());
+        summary.put("errors", errors);
+        summary.put("throughput", round(latencyMicros.getTotalCount() / seconds));
+        summary.put("goodput", round(good / seconds));
+        summary.put("p50Ms", millis(latencyMicros.getValueAtPercentile(50)));
+        summary.put("p99Ms", millis(latencyMicros.getValueAtPercentile(99)));
+        summary.put("p999Ms", millis(latencyMicros.getValueAtPercentile(99.9)));
+        summary.put("maxMs", millis(latencyMicros.getMaxValue()));
+        return summary;
+    }
+
+    private static void printRow(PrintStream out, String name, JsonNode row) {
+        out.printf("%-18s %9d %7d %10.1f %10.1f %9.2f %9.2f %9.2f %9.2f%n", name,
+                row.path("requests").asLong(), row.path("errors").asLong(), row.path("throughput").asDouble(),
+                row.path("goodput").asDouble(),
+                row.path("p50Ms").asDouble(), row.path("p99Ms").asDouble(),
+                row.path("p999Ms").asDouble(), row.path("maxMs").asDouble());
+    }
+
+    private static boolean grew(JsonNode before, JsonNode after, String field, double tolerance) {
+        return after.path(field).asDouble() > before.path(field).asDouble() * (1 + tolerance);
+    }
+
+    private static String change(JsonNode before, JsonNode after, String field) {
+        double old = before.path(field).asDouble();
+        double now = after.path(field).asDouble();
+        String percent = old > 0 ? String.format("%+.0f%%", (now - old) * 100 / old) : "";
+        return String.format("%.2f->%.2f %5s", old, now, percent);
+    }
+
+    private static double errorRatio(JsonNode row) {
+        long requests = row.path("requests").asLong();
+        return requests > 0 ? (double) row.path("errors").asLong() / requests : 0;
+    }
+
+    private static double millis(long micros) {
+        return round(micros / 1000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 100) / 100.0;
+    }
+}
@@ -0,0 +1,142 @@
+package com.example.taskmanagement.load;
+
+import com.example.taskmanagement.load.SyntheticUsers.Account;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.io.File;
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * End-to-end load test of the REST API. Unless {@code --base-url} points at a
+ * running server, boots the application in this JVM on an in-memory H2 database,
+ * creates synthetic users through the API, runs an unrecorded warm-up and then a
+ * measured open-model phase, and writes a per-endpoint report:
+ *
+ * <pre>
+ * java -jar target/load-test.jar --rate 200 --duration PT60S --baseline baseline.json
+ * java -jar target/load-test.jar --rate 200 --write-baseline -- --spring.profiles.active=virtual-threads
+ * java -jar target/load-test.jar --rate 130 --db-latency PT0.2S --min-goodput 25 --baseline none
+ * </pre>
+ *
+ * Arguments after {@code --} are passed to the embedded application.
+ * {@code --db-latency} slows every SQL statement of the embedded application down
+ * by that much, from the warm-up on. Exits with status 1 when compared with a
+ * baseline and some endpoint regressed, or when fewer than {@code --min-goodput}
+ * requests per second succeeded within {@code --latency-objective}.
+ */
+public final class LoadTest {
+
+    private LoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        int separator = Arrays.asList(args).indexOf("--");
+        String[] options = separator < 0 ? args : Arrays.copyOfRange(args, 0, separator);
+        String[] appArgs = separator < 0 ? new String[0] : Arrays.copyOfRange(args, separator + 1, args.length);
+
+        String baseUrl = option(options, "--base-url", null);
+        String label = option(options, "--label", "default");
+        double rate = Double.parseDouble(option(options, "--rate", "200"));
+        Duration duration = Duration.parse(option(options, "--duration", "PT60S"));
+        Duration warmup = Duration.parse(option(options, "--warmup", "PT15S"));
+        int users = Integer.parseInt(option(options, "--users", "50"));
+        int projects = Integer.parseInt(option(options, "--projects", "2"));
+        int tasks = Integer.parseInt(option(options, "--tasks", "20"));
+        String mix = option(options, "--mix", Workload.DEFAULT_MIX);
+        long seed = Long.parseLong(option(options, "--seed", "42"));
+        int maxInFlight = Integer.parseInt(option(options, "--max-in-flight", "5000"));
+        Duration dbLatency = Duration.parse(option(options, "--db-latency", "PT0S"));
+        Duration latencyObjective = Duration.parse(option(options, "--latency-objective", "PT1S"));
+        double minGoodput = Double.parseDouble(option(options, "--min-goodput", "0"));
+        File report = new File(option(options, "--report", "results/" + label + ".json"));
+        File baseline = new File(option(options, "--baseline", "baseline.json"));
+        double tolerance = Double.parseDouble(option(options, "--tolerance", "0.25"));
+        boolean writeBaseline = Arrays.asList(options).contains("--write-baseline");
+        if (users < 1 || projects < 1 || tasks < 1) {
+            throw new IllegalArgumentException("--users, --projects and --tasks must be at least 1");
+        }
+
+        EmbeddedBackend backend = baseUrl == null ? EmbeddedBackend.start(appArgs, dbLatency) : null;
+        boolean regressed = false;
+        try {
+            String target = backend != null ? backend.baseUrl() : baseUrl;
+            HttpClient client = HttpClient.newBuilder()
+                    .version(HttpClient.Version.HTTP_1_1)
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+
+            System.out.printf("Creating %d users with %d projects of %d tasks on %s%n", users, projects, tasks, target);
+            List<Account> accounts = new SyntheticUsers(client, target).create(users, projects, tasks);
+            Workload workload = new Workload(target, accounts, Workload.parseMix(mix));
+            OpenLoadGenerator generator = new OpenLoadGenerator(client, workload, rate, maxInFlight, latencyObjective);
+
+            if (backend != null) {
+                // After the setup, which would otherwise take minutes
+                backend.slowDownDatabase();
+            }
+            Random random = new Random(seed);
+            System.out.printf("Warming up for %s at %.0f req/s%n", warmup, rate);
+            generator.run(warmup, random);
+            System.out.printf("Measuring for %s at %.0f req/s%n", duration, rate);
+            OpenLoadGenerator.Result result = generator.run(duration, random);
+
+            ObjectMapper mapper = new ObjectMapper();
+            ObjectNode environment = mapper.createObjectNode()
+                    .put("backend", backend != null ? "embedded, H2 in PostgreSQL mode" : baseUrl)
+                    .put("java", Runtime.version().toString())
+                    .put("cpus", Runtime.getRuntime().availableProcessors())
+                    .put("appArgs", String.join(" ", appArgs));
+            ObjectNode config = mapper.createObjectNode()
+                    .put("rate", rate)
+                    .put("duration", duration.toString())
+                    .put("warmup", warmup.toString())
+                    .put("users", users)
+                    .put("projectsPerUser", projects)
+                    .put("tasksPerProject", tasks)
+                    .put("mix", mix)
+                    .put("seed", seed);
+            // Only when set, so default runs still match baselines written before these options
+            if (!dbLatency.isZero()) {
+                config.put("dbLatency", dbLatency.toString());
+            }
+            if (!latencyObjective.equals(Duration.ofSeconds(1))) {
+                config.put("latencyObjective", latencyObjective.toString());
+            }
+            LoadReport current = LoadReport.of(label, environment, config, result);
+            current.print(System.out);
+            current.write(report);
+            System.out.println("Report written to " + report);
+
+            if (writeBaseline) {
+                current.write(baseline);
+                System.out.println("Baseline written to " + baseline);
+            } else if (baseline.isFile()) {
+                System.out.println("Compared with " + baseline + ":");
+                regressed = current.compare(LoadReport.read(baseline), tolerance, System.out);
+            }
+            if (current.goodput() < minGoodput) {
+                System.out.printf("Goodput %.1f req/s is below the required %.1f req/s%n", current.goodput(), minGoodput);
+                regressed = true;
+            }
+        } finally {
+            if (backend != null) {
+                backend.close();
+            }
+        }
+        System.exit(regressed ? 1 : 0);
+    }
+
+    private static String option(String[] args, String name, String defaultValue) {
+        for (int i = 0; i < args.length - 1; i++) {
+            if (args[i].equals(name)) {
+                return args[i + 1];
+            }
+        }
+        return defaultValue;
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.taskmanagement.load;
+
+import com.example.taskmanagement.load.Workload.Endpoint;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Open-model load: requests arrive as a Poisson process at a fixed mean rate,
+ * whether or not earlier ones have completed, so a slow server builds a queue
+ * instead of slowing the client down. Latency is measured from each request's
+ * scheduled arrival, not from when it was actually sent, so time spent waiting
+ * behind a stalled sender still counts (no coordinated omission).
+ */
+final class OpenLoadGenerator {
+
+    /** Per-endpoint outcome of one phase; {@code good} requests succeeded within the latency objective. */
+    static final class Stats {
+        final Histogram latencyMicros = new ConcurrentHistogram(3);
+        final AtomicLong errors = new AtomicLong();
+        final AtomicLong good = new AtomicLong();
+    }
+
+    /** Outcome of one phase; {@code dropped} arrivals found {@code maxInFlight} requests outstanding. */
+    record Result(Map<Endpoint, Stats> stats, long dropped, Duration elapsed) {
+    }
+
+    private final HttpClient client;
+    private final Workload workload;
+    private final double ratePerSecond;
+    private final int maxInFlight;
+    private final long objectiveMicros;
+
+    OpenLoadGenerator(HttpClient client, Workload workload, double ratePerSecond, int maxInFlight,
+                      Duration latencyObjective) {
+        this.client = client;
+        this.workload = workload;
+        this.ratePerSecond = ratePerSecond;
+        this.maxInFlight = maxInFlight;
+        this.objectiveMicros = latencyObjective.toNanos() / 1000;
+    }
+
+    /** Issues arrivals for {@code duration}, then waits for the outstanding requests. */
+    Result run(Duration duration, Random random) {
+        Map<Endpoint, Stats> stats = new EnumMap<>(Endpoint.class);
+        for (Endpoint endpoint : workload.getWeights().keySet()) {
+            stats.put(endpoint, new Stats());
+        }
+        AtomicInteger inFlight = new AtomicInteger();
+        Phaser outstanding = new Phaser(1);
+        long dropped = 0;
+        double meanGapNanos = 1_000_000_000.0 / ratePerSecond;
+
+        long start = System.nanoTime();
+        long end = start + duration.toNanos();
+        long scheduled = start;
+        while (true) {
+            // Exponential gaps give Poisson arrivals
+            scheduled += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (scheduled >= end) {
+                break;
+            }
+            long wait = scheduled - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Call call = workload.next(random);
+            if (inFlight.incrementAndGet() > maxInFlight) {
+                inFlight.decrementAndGet();
+                dropped++;
+                continue;
+            }
+            long intendedStart = scheduled;
+            Stats endpointStats = stats.get(call.endpoint());
+            outstanding.register();
+            client.sendAsync(call.request(), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, failure) -> {
+                        long latencyMicros = (System.nanoTime() - intendedStart) / 1000;
+                        endpointStats.latencyMicros.recordValue(latencyMicros);
+                        if (failure != null || response.statusCode() >= 400) {
+                            endpointStats.errors.incrementAndGet();
+                        } else if (latencyMicros <= objectiveMicros) {
+                            endpointStats.good.incrementAndGet();
+                        }
+                        inFlight.decrementAndGet();
+                        outstanding.arriveAndDeregister();
+                    });
+        }
+        outstanding.arriveAndAwaitAdvance();
+        return new Result(stats, dropped, Duration.ofNanos(System.nanoTime() - start));
+    }
+}
@@ -0,0 +1,88 @@
+package com.example.taskmanagement.load;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Creates the accounts the workload runs as, through the public API only: each
+ * user registers and logs in via {@code AuthController}, then creates its projects
+ * and their tasks. Emails carry a run id so repeated runs against one database do
+ * not collide.
+ */
+final class SyntheticUsers {
+
+    static final String PASSWORD = "load-test-password";
+
+    /** A logged-in user and the ids of what it created; every account uses {@link #PASSWORD}. */
+    record Account(String email, String token, List<Long> projectIds, List<Long> taskIds) {
+    }
+
+    private final HttpClient client;
+    private final String baseUrl;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    SyntheticUsers(HttpClient client, String baseUrl) {
+        this.client = client;
+        this.baseUrl = baseUrl;
+    }
+
+    List<Account> create(int users, int projectsPerUser, int tasksPerProject) throws IOException, InterruptedException {
+        String run = Long.toString(System.currentTimeMillis(), 36);
+        List<Account> accounts = new ArrayList<>(users);
+        for (int u = 0; u < users; u++) {
+            String email = "load-" + run + "-" + u + "@example.com";
+            String credentials = objectMapper.createObjectNode()
+                    .put("name", "Load user " + u)
+                    .put("email", email)
+                    .put("password", PASSWORD)
+                    .toString();
+            send(post("/auth/register", null, credentials));
+            String token = send(post("/auth/login", null, credentials)).get("accessToken").asText();
+
+            List<Long> projectIds = new ArrayList<>(projectsPerUser);
+            List<Long> taskIds = new ArrayList<>(projectsPerUser * tasksPerProject);
+            for (int p = 0; p < projectsPerUser; p++) {
+                long projectId = send(post("/api/projects", token, objectMapper.createObjectNode()
+                        .put("title", "Load project " + p)
+                        .put("description", "Created by the load harness").toString())).get("id").asLong();
+                projectIds.add(projectId);
+                for (int t = 0; t < tasksPerProject; t++) {
+                    taskIds.add(send(post("/api/projects/" + projectId + "/tasks", token, Workload.taskJson(t)))
+                            .get("id").asLong());
+                }
+            }
+            accounts.add(new Account(email, token, projectIds, taskIds));
+        }
+        return accounts;
+    }
+
+    private HttpRequest post(String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+
+    private JsonNode send(HttpRequest request) throws IOException, InterruptedException {
+        HttpResponse<String> response = client.send(request, HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() >= 400) {
+            throw new IllegalStateException(request.method() + " " + request.uri() + " failed with "
+                    + response.statusCode() + ": " + response.body());
+        }
+        String body = response.body();
+        return body.startsWith("{") ? objectMapper.readTree(body) : objectMapper.nullNode();
+    }
+}
@@ -0,0 +1,161 @@
+package com.example.taskmanagement.load;
+
+import com.example.taskmanagement.load.SyntheticUsers.Account;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * The request mix: every {@link Endpoint} with a relative weight. A request is
+ * drawn by picking a random account, then an endpoint by weight, then the
+ * account's project or task it targets.
+ */
+final class Workload {
+
+    /** Roughly what the frontend issues: mostly task pages and progress, some writes. */
+    static final String DEFAULT_MIX =
+            "list-projects=10,get-project=10,list-tasks=35,project-progress=15,all-progress=10,create-task=10,update-task=10";
+
+    private static final String[] PRIORITIES = {"LOW", "MEDIUM", "HIGH", "URGENT"};
+    private static final String[] STATUSES = {"TODO", "IN_PROGRESS", "IN_REVIEW", "DONE"};
+
+    enum Endpoint {
+        LIST_PROJECTS("list-projects", "GET /api/projects"),
+        GET_PROJECT("get-project", "GET /api/projects/{id}"),
+        LIST_TASKS("list-tasks", "GET /api/projects/{id}/tasks?limit=50"),
+        PROJECT_PROGRESS("project-progress", "GET /api/projects/{id}/progress"),
+        ALL_PROGRESS("all-progress", "GET /api/projects/progress"),
+        CREATE_TASK("create-task", "POST /api/projects/{id}/tasks"),
+        UPDATE_TASK("update-task", "PUT /api/projects/{id}/tasks/{taskId}"),
+        // Not in the default mix: added with a high weight, it makes a login storm
+        LOGIN("login", "POST /auth/login");
+
+        private final String key;
+        private final String route;
+
+        Endpoint(String key, String route) {
+            this.key = key;
+            this.route = route;
+        }
+
+        String getKey() {
+            return key;
+        }
+
+        String getRoute() {
+            return route;
+        }
+
+        static Endpoint fromKey(String key) {
+            for (Endpoint endpoint : values()) {
+                if (endpoint.key.equals(key)) {
+                    return endpoint;
+                }
+            }
+            throw new IllegalArgumentException("Unknown endpoint '" + key + "', expected one of "
+                    + List.of(values()).stream().map(Endpoint::getKey).toList());
+        }
+    }
+
+    record Call(Endpoint endpoint, HttpRequest request) {
+    }
+
+    private final String baseUrl;
+    private final List<Account> accounts;
+    private final Map<Endpoint, Integer> weights;
+    private final int totalWeight;
+
+    Workload(String baseUrl, List<Account> accounts, Map<Endpoint, Integer> weights) {
+        this.baseUrl = baseUrl;
+        this.accounts = accounts;
+        this.weights = weights;
+        this.totalWeight = weights.values().stream().mapToInt(Integer::intValue).sum();
+        if (totalWeight <= 0) {
+            throw new IllegalArgumentException("The mix needs at least one endpoint with a positive weight");
+        }
+    }
+
+    /** Parses {@code key=weight,...}; endpoints not listed get no traffic. */
+    static Map<Endpoint, Integer> parseMix(String mix) {
+        Map<Endpoint, Integer> weights = new EnumMap<>(Endpoint.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Expected endpoint=weight, got '" + entry + "'");
+            }
+            weights.put(Endpoint.fromKey(parts[0].trim()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+
+    Map<Endpoint, Integer> getWeights() {
+        return weights;
+    }
+
+    Call next(Random random) {
+        Account account = accounts.get(random.nextInt(accounts.size()));
+        Endpoint endpoint = pick(random.nextInt(totalWeight));
+        int projectIndex = random.nextInt(account.projectIds().size());
+        long projectId = account.projectIds().get(projectIndex);
+        String token = account.token();
+        HttpRequest request = switch (endpoint) {
+            case LIST_PROJECTS -> get("/api/projects", token);
+            case GET_PROJECT -> get("/api/projects/" + projectId, token);
+            case LIST_TASKS -> get("/api/projects/" + projectId + "/tasks?limit=50", token);
+            case PROJECT_PROGRESS -> get("/api/projects/" + projectId + "/progress", token);
+            case ALL_PROGRESS -> get("/api/projects/progress", token);
+            case CREATE_TASK -> send("POST", "/api/projects/" + projectId + "/tasks", token,
+                    taskJson(random.nextInt(1000)));
+            case UPDATE_TASK -> {
+                // Seeded tasks are laid out project by project, in creation order
+                int perProject = account.taskIds().size() / account.projectIds().size();
+                long taskId = account.taskIds().get(projectIndex * perProject + random.nextInt(perProject));
+                yield send("PUT", "/api/projects/" + projectId + "/tasks/" + taskId, token,
+                        taskJson(random.nextInt(1000)));
+            }
+            case LOGIN -> send("POST", "/auth/login", null,
+                    "{\"email\":\"" + account.email() + "\",\"password\":\"" + SyntheticUsers.PASSWORD + "\"}");
+        };
+        return new Call(endpoint, request);
+    }
+
+    static String taskJson(int n) {
+        return "{\"title\":\"Load task " + n + "\",\"description\":\"Generated by the load harness\","
+                + "\"priority\":\"" + PRIORITIES[n % PRIORITIES.length] + "\","
+                + "\"status\":\"" + STATUSES[n % STATUSES.length] + "\","
+                + "\"completed\":" + (n % STATUSES.length == 3) + "}";
+    }
+
+    private Endpoint pick(int roll) {
+        for (Map.Entry<Endpoint, Integer> weight : weights.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        throw new IllegalStateException("Roll outside the total weight");
+    }
+
+    private HttpRequest get(String path, String token) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Authorization", "Bearer " + token)
+                .GET().build();
+    }
+
+    private HttpRequest send(String method, String path, String token, String body) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                .timeout(Duration.ofSeconds(30))
+                .header("Content-Type", "application/json")
+                .method(method, HttpRequest.BodyPublishers.ofString(body));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,66 @@
+#!/usr/bin/env bash
+# Compares time to first successful request of the plain jar and of the fast-startup build
+# (prod profile, Spring AOT, AppCDS archive), starting each RUNS times. A run is timed from
+# launching the JVM to the first 200 from /actuator/health on the management port, which also
+# checks the database, and one JSON line per mode is appended to $RESULTS. Needs the database
+# configured for the backend; extra Spring arguments (e.g. a datasource URL) can be passed in
+# APP_ARGS, and are also used for the training run. The search index snapshot is turned off
+# so runs leave no files behind.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+RUNS="${RUNS:-5}"
+RESULTS="${RESULTS:-startup.jsonl}"
+WORK=$(mktemp -d)
+trap 'rm -rf "$WORK"' EXIT
+
+(cd ../Backend && mvn -B -q -DskipTests clean package)
+cp "$(ls ../Backend/target/*.jar | grep -v -e original -e -classes.jar | head -1)" "$WORK/plain.jar"
+(cd ../Backend && mvn -B -q -DskipTests -Pfast-startup clean package "-Dcds.training.args=${APP_ARGS:-}")
+FAST=../Backend/target/fast-startup
+
+# Prints the milliseconds from launching "$@" to the first healthy response
+first_request_millis() {
+    local log=$1
+    shift
+    local start
+    start=$(date +%s%N)
+    "$@" ${APP_ARGS:-} > "$log" 2>&1 &
+    local app=$!
+    until [ "$(curl -s -o /dev/null -w '%{http_code}' http://localhost:${MANAGEMENT_PORT:-8081}/actuator/health)" = 200 ]; do
+        if ! kill -0 $app 2>/dev/null; then
+            echo "The application exited, see $log" >&2
+            exit 1
+        fi
+        sleep 0.05
+    done
+    echo $(( ($(date +%s%N) - start) / 1000000 ))
+    kill $app
+    wait $app 2>/dev/null || true
+}
+
+median() {
+    tr ' ' '\n' | sort -n | awk '{ v[NR] = $1 } END { print (NR % 2) ? v[(NR + 1) / 2] : int((v[NR / 2] + v[NR / 2 + 1]) / 2) }'
+}
+
+commit=$(git rev-parse --short HEAD)
+declare -A medians
+for mode in plain fast-startup; do
+    times=()
+    for _ in $(seq "$RUNS"); do
+        if [ "$mode" = plain ]; then
+            millis=$(first_request_millis "app-startup-$mode.log" java -jar "$WORK/plain.jar" --search.snapshot-path=)
+        else
+            millis=$(cd "$FAST" && first_request_millis "$OLDPWD/app-startup-$mode.log" \
+                java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+                -cp 'application.jar:BOOT-INF/lib/*' com.example.taskmanagement.TaskManagementApplication \
+                --spring.profiles.active=prod --search.snapshot-path=)
+        fi
+        times+=("$millis")
+    done
+    medians[$mode]=$(echo "${times[*]}" | median)
+    printf '{"commit":"%s","mode":"%s","runs":[%s],"medianMillis":%d}\n' \
+        "$commit" "$mode" "$(IFS=,; echo "${times[*]}")" "${medians[$mode]}" | tee -a "$RESULTS"
+done
+awk -v plain="${medians[plain]}" -v fast="${medians[fast-startup]}" \
+    'BEGIN { printf "fast-startup: %.0f%% of the plain jar'"'"'s time to first request\n", 100 * fast / plain }'
@@ -0,0 +1,33 @@
+#!/usr/bin/env bash
+# Runs ThreadModeBenchmark against the backend in platform-thread mode and then in
+# virtual-thread mode, appending one JSON line per mode and concurrency level to
+# $RESULTS. Needs a Java 21 JAVA_HOME and the database configured for the backend;
+# extra Spring arguments (e.g. a datasource URL) can be passed in APP_ARGS.
+set -euo pipefail
+
+cd "$(dirname "$0")"
+JAVA="${JAVA_HOME:?set JAVA_HOME to a Java 21 JDK}/bin/java"
+CLIENTS="${CLIENTS:-1000,2000,5000,10000}"
+DURATION="${DURATION:-PT30S}"
+RESULTS="${RESULTS:-thread-modes.jsonl}"
+
+(cd ../Backend && mvn -B -q -DskipTests package)
+JAR=$(ls ../Backend/target/*.jar | grep -v -e original -e -classes.jar | head -1)
+
+for mode in platform virtual-threads; do
+    profile_args=()
+    if [ "$mode" = virtual-threads ]; then
+        profile_args=(--spring.profiles.active=virtual-threads)
+    fi
+    # Pinned virtual threads are reported on stdout, see app-$mode.log
+    "$JAVA" -Djdk.tracePinnedThreads=short -jar "$JAR" "${profile_args[@]}" \
+        --logging.level.root=WARN --spring.jpa.show-sql=false ${APP_ARGS:-} > "app-$mode.log" 2>&1 &
+    app=$!
+    trap 'kill $app 2>/dev/null || true' EXIT
+    until curl -s -o /dev/null http://localhost:8080/; do sleep 1; done
+
+    "$JAVA" ThreadModeBenchmark.java --label "$mode" --clients "$CLIENTS" --duration "$DURATION" | tee -a "$RESULTS"
+
+    kill $app
+    wait $app 2>/dev/null || true
+done
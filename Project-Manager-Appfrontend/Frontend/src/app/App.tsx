@@ -3,6 +3,7 @@ import { AuthPage } from "./components/auth-page";
 import { DashboardLayout } from "./components/dashboard-layout";
 import { ProjectsOverview } from "./components/projects-overview";
 import { ProjectDetail } from "./components/project-detail";
+import { authAPI } from "./services/api";
 
 export default function App() {
   const [isAuthenticated, setIsAuthenticated] = useState(false);
@@ -23,7 +24,9 @@ export default function App() {
   };
 
   const handleLogout = () => {
+    authAPI.logout().catch(() => {});
     localStorage.removeItem("accessToken");
+    localStorage.removeItem("refreshToken");
     setIsAuthenticated(false);
     setSelectedProjectId(null);
     setCurrentPage("projects");
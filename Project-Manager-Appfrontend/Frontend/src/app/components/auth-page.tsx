@@ -42,6 +42,7 @@ export function AuthPage({ onLogin }: AuthPageProps) {
         // Login
         const data = await authAPI.login(email, password);
         localStorage.setItem("accessToken", data.accessToken);
+        localStorage.setItem("refreshToken", data.refreshToken);
         onLogin();
       } else {
         // Register
@@ -1,4 +1,4 @@
-import { useState, useEffect } from "react";
+import { useState, useEffect, useRef } from "react";
 import { ArrowLeft, Calendar, Circle, CircleCheck, Trash2, Plus, Loader2 } from "lucide-react";
 import { Button } from "./ui/button";
 import { Input } from "./ui/input";
@@ -30,6 +30,9 @@ export interface ProgressData {
   progressPercentage: number;
 }
 
+// Tasks fetched per request; further pages load on demand
+const TASK_PAGE_SIZE = 50;
+
 interface ProjectDetailProps {
   projectId: number;
   onBack: () => void;
@@ -38,6 +41,10 @@ interface ProjectDetailProps {
 export function ProjectDetail({ projectId, onBack }: ProjectDetailProps) {
   const [project, setProject] = useState<ProjectData | null>(null);
   const [tasks, setTasks] = useState<Task[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | null>(null);
+  const [loadingMore, setLoadingMore] = useState(false);
+  // Read by the event handler, which is subscribed once per project
+  const hasMoreTasks = useRef(false);
   const [progress, setProgress] = useState<ProgressData | null>(null);
   const [isAddingTask, setIsAddingTask] = useState(false);
   const [taskTitle, setTaskTitle] = useState("");
@@ -50,16 +57,50 @@ export function ProjectDetail({ projectId, onBack }: ProjectDetailProps) {
     loadProjectData();
   }, [projectId]);
 
+  // Live updates from other tabs and users
+  useEffect(() => {
+    return projectsAPI.subscribeEvents(projectId, (event, data) => {
+      switch (event) {
+        case "task-created":
+          // Tasks are listed by id, so a new one belongs on the last page
+          if (!hasMoreTasks.current) {
+            setTasks((current) => appendTasks(current, [data]));
+          }
+          break;
+        case "task-updated":
+        case "task-completed":
+          setTasks((current) =>
+            current.map((task) =>
+              task.id === data.id ? (data.title ? data : { ...task, completed: true }) : task
+            )
+          );
+          break;
+        case "task-deleted":
+          setTasks((current) => current.filter((task) => task.id !== data.id));
+          break;
+        case "progress":
+          setProgress(data);
+          break;
+      }
+    });
+  }, [projectId]);
+
+  const showNextCursor = (cursor: string | null) => {
+    hasMoreTasks.current = cursor !== null;
+    setNextCursor(cursor);
+  };
+
   const loadProjectData = async () => {
     try {
       setLoading(true);
-      const [projectData, tasksData, progressData] = await Promise.all([
+      const [projectData, tasksPage, progressData] = await Promise.all([
         projectsAPI.getById(projectId),
-        tasksAPI.getByProject(projectId),
+        tasksAPI.getPage(projectId, { limit: TASK_PAGE_SIZE }),
         projectsAPI.getProgress(projectId),
       ]);
       setProject(projectData);
-      setTasks(tasksData);
+      setTasks(tasksPage.items);
+      showNextCursor(tasksPage.nextCursor);
       setProgress(progressData);
       setError("");
     } catch (err: any) {
@@ -70,17 +111,43 @@ export function ProjectDetail({ projectId, onBack }: ProjectDetailProps) {
     }
   };
 
+  const handleLoadMore = async () => {
+    if (!nextCursor) return;
+    try {
+      setLoadingMore(true);
+      const tasksPage = await tasksAPI.getPage(projectId, {
+        limit: TASK_PAGE_SIZE,
+        cursor: nextCursor,
+      });
+      setTasks((current) => appendTasks(current, tasksPage.items));
+      showNextCursor(tasksPage.nextCursor);
+    } catch (err: any) {
+      console.error("Error loading tasks:", err);
+      alert("Failed to load more tasks. Please try again.");
+    } finally {
+      setLoadingMore(false);
+    }
+  };
+
+  // Mutations update the loaded tasks in place, so pages already loaded stay loaded
+  const refreshProgress = async () => {
+    setProgress(await projectsAPI.getProgress(projectId));
+  };
+
   const handleAddTask = async (e: React.FormEvent) => {
     e.preventDefault();
     if (!taskTitle.trim()) return;
 
     try {
-      await tasksAPI.create(projectId, taskTitle, taskDescription, taskDueDate);
+      const created = await tasksAPI.create(projectId, taskTitle, taskDescription, taskDueDate);
       setTaskTitle("");
       setTaskDescription("");
       setTaskDueDate("");
       setIsAddingTask(false);
-      await loadProjectData();
+      if (!nextCursor) {
+        setTasks((current) => appendTasks(current, [created]));
+      }
+      await refreshProgress();
     } catch (err: any) {
       console.error("Error adding task:", err);
       alert("Failed to add task. Please try again.");
@@ -90,7 +157,10 @@ export function ProjectDetail({ projectId, onBack }: ProjectDetailProps) {
   const handleToggleTask = async (taskId: number) => {
     try {
       await tasksAPI.toggleComplete(projectId, taskId);
-      await loadProjectData();
+      setTasks((current) =>
+        current.map((task) => (task.id === taskId ? { ...task, completed: true } : task))
+      );
+      await refreshProgress();
     } catch (err: any) {
       console.error("Error toggling task:", err);
       alert("Failed to update task. Please try again.");
@@ -102,7 +172,8 @@ export function ProjectDetail({ projectId, onBack }: ProjectDetailProps) {
 
     try {
       await tasksAPI.delete(projectId, taskId);
-      await loadProjectData();
+      setTasks((current) => current.filter((task) => task.id !== taskId));
+      await refreshProgress();
     } catch (err: any) {
       console.error("Error deleting task:", err);
       alert("Failed to delete task. Please try again.");
@@ -339,9 +410,23 @@ export function ProjectDetail({ projectId, onBack }: ProjectDetailProps) {
                 </CardContent>
               </Card>
             ))}
+            {nextCursor && (
+              <div className="flex justify-center pt-2">
+                <Button variant="outline" onClick={handleLoadMore} disabled={loadingMore}>
+                  {loadingMore && <Loader2 className="w-4 h-4 mr-2 animate-spin" />}
+                  Load more tasks
+                </Button>
+              </div>
+            )}
           </div>
         )}
       </div>
     </div>
   );
 }
+
+// Skips tasks already listed, e.g. ones a live event added before their page arrived
+function appendTasks(current: Task[], more: Task[]): Task[] {
+  const listed = new Set(current.map((task) => task.id));
+  return [...current, ...more.filter((task) => !listed.has(task.id))];
+}
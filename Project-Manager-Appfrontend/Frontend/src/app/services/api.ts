@@ -24,13 +24,46 @@ api.interceptors.request.use(
   }
 );
 
-// Response interceptor to handle auth errors
+// One refresh at a time; requests failing meanwhile wait for it instead of spending the refresh token again
+let refreshing: Promise<string> | null = null;
+
+const refreshAccessToken = () => {
+  if (!refreshing) {
+    refreshing = axios
+      .post(`${API_BASE_URL}/auth/refresh-token`, {
+        refreshToken: localStorage.getItem("refreshToken"),
+      })
+      .then((response) => {
+        localStorage.setItem("accessToken", response.data.accessToken);
+        localStorage.setItem("refreshToken", response.data.refreshToken);
+        return response.data.accessToken as string;
+      })
+      .finally(() => {
+        refreshing = null;
+      });
+  }
+  return refreshing;
+};
+
+// Response interceptor to handle auth errors: renew the access token once, then give up
 api.interceptors.response.use(
   (response) => response,
-  (error) => {
+  async (error) => {
+    const config = error.config;
     if (error.response?.status === 401 || error.response?.status === 403) {
-      // Clear token and redirect to login
+      if (config && !config._retried && !config.url?.startsWith("/auth/") && localStorage.getItem("refreshToken")) {
+        config._retried = true;
+        try {
+          const token = await refreshAccessToken();
+          config.headers.Authorization = `Bearer ${token}`;
+          return api(config);
+        } catch {
+          // Fall through to signing out
+        }
+      }
+      // Clear tokens and redirect to login
       localStorage.removeItem("accessToken");
+      localStorage.removeItem("refreshToken");
       window.location.href = "/";
     }
     return Promise.reject(error);
@@ -48,6 +81,17 @@ export const authAPI = {
     const response = await api.post("/auth/register", { email, password });
     return response.data;
   },
+
+  // Reads both tokens before the first await, so callers can clear them right away
+  logout: async () => {
+    const token = localStorage.getItem("accessToken");
+    const refreshToken = localStorage.getItem("refreshToken");
+    await axios.post(
+      `${API_BASE_URL}/auth/logout`,
+      { refreshToken },
+      { headers: token ? { Authorization: `Bearer ${token}` } : {} }
+    );
+  },
 };
 
 // Projects API
@@ -71,12 +115,69 @@ export const projectsAPI = {
     const response = await api.get(`/api/projects/${projectId}/progress`);
     return response.data;
   },
+
+  // EventSource cannot send the Authorization header, so the stream is read with fetch.
+  // Returns a function that closes the stream.
+  subscribeEvents: (
+    projectId: number,
+    onEvent: (event: string, data: any) => void
+  ) => {
+    const controller = new AbortController();
+    const token = localStorage.getItem("accessToken");
+    fetch(`${API_BASE_URL}/api/projects/${projectId}/events`, {
+      headers: token ? { Authorization: `Bearer ${token}` } : {},
+      signal: controller.signal,
+    })
+      .then(async (response) => {
+        if (!response.ok || !response.body) return;
+        const reader = response.body.pipeThrough(new TextDecoderStream()).getReader();
+        let buffer = "";
+        for (;;) {
+          const { value, done } = await reader.read();
+          if (done) break;
+          buffer += value;
+          let end;
+          while ((end = buffer.indexOf("\n\n")) >= 0) {
+            const frame = buffer.slice(0, end);
+            buffer = buffer.slice(end + 2);
+            let event = "message";
+            let data = "";
+            for (const line of frame.split("\n")) {
+              if (line.startsWith("event:")) event = line.slice(6).trim();
+              else if (line.startsWith("data:")) data += line.slice(5);
+            }
+            if (data) onEvent(event, JSON.parse(data));
+          }
+        }
+      })
+      .catch(() => {});
+    return () => controller.abort();
+  },
+
+  getAllProgress: async (projectIds?: number[]) => {
+    const response = await api.get("/api/projects/progress", {
+      params: projectIds ? { ids: projectIds.join(",") } : undefined,
+    });
+    return response.data;
+  },
 };
 
 // Tasks API
 export const tasksAPI = {
-  getByProject: async (projectId: number) => {
-    const response = await api.get(`/api/projects/${projectId}/tasks`);
+  getPage: async (
+    projectId: number,
+    params: {
+      status?: string;
+      priority?: string;
+      completed?: boolean;
+      dueFrom?: string;
+      dueTo?: string;
+      sort?: "ID" | "DUE_DATE" | "PRIORITY";
+      cursor?: string;
+      limit?: number;
+    } = {}
+  ) => {
+    const response = await api.get(`/api/projects/${projectId}/tasks`, { params });
     return response.data;
   },
 